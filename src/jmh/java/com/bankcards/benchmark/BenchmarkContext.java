@@ -0,0 +1,60 @@
+package com.bankcards.benchmark;
+
+import com.bankcards.BankCardsApplication;
+import com.bankcards.entity.Card;
+import com.bankcards.entity.Role;
+import com.bankcards.entity.User;
+import com.bankcards.repository.CardRepository;
+import com.bankcards.repository.UserRepository;
+import com.bankcards.util.CardGenerator;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Boots the application against the in-memory H2 database of the "test" profile, without a web server
+ * unless {@link #startWeb} is used.
+ */
+final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start(String... properties) {
+        return new SpringApplicationBuilder(BankCardsApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties("logging.level.root=WARN", "spring.main.banner-mode=off")
+                .properties(properties)
+                .run();
+    }
+
+    static ConfigurableApplicationContext startWeb(String... properties) {
+        return new SpringApplicationBuilder(BankCardsApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .profiles("test")
+                .properties("logging.level.root=WARN", "spring.main.banner-mode=off", "server.port=0")
+                .properties(properties)
+                .run();
+    }
+
+    static User createUser(ConfigurableApplicationContext context) {
+        User user = new User();
+        user.setFirstName("Bench");
+        user.setLastName("Mark");
+        user.setEmail(UUID.randomUUID() + "@bench.test");
+        user.setPassword("password");
+        user.setRoles(Set.of(Role.ROLE_USER));
+        return context.getBean(UserRepository.class).save(user);
+    }
+
+    static Card createCard(ConfigurableApplicationContext context, User user, BigDecimal balance) {
+        Card card = context.getBean(CardGenerator.class).generateCard(user);
+        card.setBalance(balance);
+        return context.getBean(CardRepository.class).save(card);
+    }
+}
@@ -0,0 +1,110 @@
+package com.bankcards.benchmark;
+
+import com.bankcards.entity.User;
+import com.bankcards.mapper.CardMapper;
+import com.bankcards.repository.CardRepository;
+import com.bankcards.repository.CardSpecifications;
+import com.bankcards.util.CardCursor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admin card listing at increasing depth: OFFSET pages with a COUNT query against (created_at, id) seek pages.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CardListingBenchmark {
+    private static final int PAGE_SIZE = 10;
+    private static final int CARDS = 100_010;
+
+    public enum Pagination {
+        OFFSET, CURSOR
+    }
+
+    @Param({"OFFSET", "CURSOR"})
+    public Pagination pagination;
+
+    @Param({"0", "100", "10000"})
+    public int page;
+
+    private ConfigurableApplicationContext context;
+    private CardRepository cardRepository;
+    private CardMapper cardMapper;
+    private TransactionTemplate transactionTemplate;
+    private CardCursor cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        cardRepository = context.getBean(CardRepository.class);
+        cardMapper = context.getBean(CardMapper.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        transactionTemplate.setReadOnly(true);
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        User user = BenchmarkContext.createUser(context);
+        insertCards(jdbcTemplate, user);
+
+        cursor = page == 0 ? CardCursor.FIRST : jdbcTemplate.queryForObject(
+                "SELECT created_at, id FROM cards ORDER BY created_at DESC, id DESC OFFSET ? ROWS FETCH NEXT 1 ROWS ONLY",
+                (rs, rowNum) -> new CardCursor(rs.getTimestamp("created_at").toLocalDateTime(), rs.getLong("id")),
+                page * PAGE_SIZE - 1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object listCards() {
+        return transactionTemplate.execute(status -> pagination == Pagination.OFFSET
+                ? cardRepository.findListing(CardSpecifications.matching(null), PageRequest.of(page, PAGE_SIZE, Sort.by("createdAt").descending()))
+                        .map(cardMapper::mapCardListViewToCardDto)
+                : cardMapper.mapCardsToCursorPage(
+                        cardRepository.findListingBefore(CardSpecifications.matching(null), cursor, Limit.of(PAGE_SIZE + 1)), PAGE_SIZE));
+    }
+
+    private void insertCards(JdbcTemplate jdbcTemplate, User user) {
+        LocalDateTime start = LocalDateTime.of(2020, 1, 1, 0, 0);
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < CARDS; i++) {
+            String number = String.format("%016d", i);
+            rows.add(new Object[]{"bench-" + i, "bench-" + i, number.substring(12), LocalDate.of(2030, 1, 1),
+                    user.getId(), Timestamp.valueOf(start.plusSeconds(i))});
+            if (rows.size() == 1_000) {
+                insert(jdbcTemplate, rows);
+                rows.clear();
+            }
+        }
+        insert(jdbcTemplate, rows);
+    }
+
+    private void insert(JdbcTemplate jdbcTemplate, List<Object[]> rows) {
+        jdbcTemplate.batchUpdate("INSERT INTO cards (card_number, card_number_hash, last_four, expiry_date, status, " +
+                "balance, user_id, created_at, version) VALUES (?, ?, ?, ?, 'ACTIVE', 0, ?, ?, 0)", rows);
+    }
+}
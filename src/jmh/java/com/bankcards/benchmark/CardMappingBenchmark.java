@@ -0,0 +1,106 @@
+package com.bankcards.benchmark;
+
+import com.bankcards.dto.CardDto;
+import com.bankcards.entity.Card;
+import com.bankcards.entity.CardStatus;
+import com.bankcards.entity.User;
+import com.bankcards.mapper.CardMapper;
+import com.bankcards.util.CardGenerator;
+import com.bankcards.util.CardMaskingService;
+import com.bankcards.util.EncryptionUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-card mapping, masking and generation. {@code ENCRYPTED_ONLY} is a row written before last_four existed,
+ * which the mapper masks from the decrypted number; the card is reset before each call so the number is decrypted
+ * every time rather than once.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CardMappingBenchmark {
+    private static final String CARD_NUMBER = "4111111111111111";
+
+    public enum Row {
+        LAST_FOUR, ENCRYPTED_ONLY
+    }
+
+    private ConfigurableApplicationContext context;
+    private CardMapper cardMapper;
+    private CardMaskingService cardMaskingService;
+    private CardGenerator cardGenerator;
+    private User user;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        cardMapper = context.getBean(CardMapper.class);
+        cardMaskingService = context.getBean(CardMaskingService.class);
+        cardGenerator = context.getBean(CardGenerator.class);
+
+        user = new User();
+        user.setId(7L);
+        user.setFirstName("Bench");
+        user.setLastName("Mark");
+    }
+
+    @State(Scope.Benchmark)
+    public static class StoredCard {
+        @Param({"LAST_FOUR", "ENCRYPTED_ONLY"})
+        public Row row;
+
+        Card card;
+
+        @Setup(Level.Trial)
+        public void setUp(CardMappingBenchmark benchmark) {
+            card = new Card();
+            card.setId(1L);
+            card.setUser(benchmark.user);
+            card.setCardNumber(CARD_NUMBER);
+            ReflectionTestUtils.setField(card, "encryptedCardNumber", EncryptionUtil.encrypt(CARD_NUMBER));
+            card.setExpiryDate(LocalDate.now().plusYears(3));
+            card.setStatus(CardStatus.ACTIVE);
+            card.setBalance(new BigDecimal("1234.56"));
+            card.setCreatedAt(LocalDateTime.now());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public CardDto mapCardToCardDto(StoredCard stored) {
+        if (stored.row == Row.ENCRYPTED_ONLY) {
+            stored.card.setCardNumber(null);
+        }
+        return cardMapper.mapCardToCardDto(stored.card);
+    }
+
+    @Benchmark
+    public String maskCardNumber() {
+        return cardMaskingService.maskCardNumber(CARD_NUMBER);
+    }
+
+    @Benchmark
+    public Card generateCard() {
+        return cardGenerator.generateCard(user);
+    }
+}
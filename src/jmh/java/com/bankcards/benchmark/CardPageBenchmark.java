@@ -0,0 +1,88 @@
+package com.bankcards.benchmark;
+
+import com.bankcards.dto.CardDto;
+import com.bankcards.entity.Card;
+import com.bankcards.entity.User;
+import com.bankcards.mapper.CardMapper;
+import com.bankcards.repository.CardRepository;
+import com.bankcards.repository.CardSpecifications;
+import com.bankcards.util.CardMaskingService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renders one 100-card page: masking from the decrypted number (previous behaviour) against the stored last four digits.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CardPageBenchmark {
+    private static final int PAGE_SIZE = 100;
+
+    public enum Masking {
+        DECRYPT, LAST_FOUR
+    }
+
+    @Param({"DECRYPT", "LAST_FOUR"})
+    public Masking masking;
+
+    private ConfigurableApplicationContext context;
+    private CardRepository cardRepository;
+    private CardMapper cardMapper;
+    private CardMaskingService cardMaskingService;
+    private TransactionTemplate transactionTemplate;
+    private Long userId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        cardRepository = context.getBean(CardRepository.class);
+        cardMapper = context.getBean(CardMapper.class);
+        cardMaskingService = context.getBean(CardMaskingService.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        transactionTemplate.setReadOnly(true);
+
+        User user = BenchmarkContext.createUser(context);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            BenchmarkContext.createCard(context, user, BigDecimal.ZERO);
+        }
+        userId = user.getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<CardDto> page() {
+        return transactionTemplate.execute(status -> cardRepository
+                .findAll(CardSpecifications.forUser(userId, null), PageRequest.of(0, PAGE_SIZE))
+                .map(this::mask)
+                .getContent());
+    }
+
+    private CardDto mask(Card card) {
+        CardDto dto = cardMapper.mapCardToCardDto(card);
+        if (masking == Masking.DECRYPT) {
+            dto.setMaskedCardNumber(cardMaskingService.maskCardNumber(card.getCardNumber()));
+        }
+        return dto;
+    }
+}
@@ -0,0 +1,56 @@
+package com.bankcards.benchmark;
+
+import com.bankcards.util.cipher.AesGcmCipherEngine;
+import com.bankcards.util.cipher.CipherEngine;
+import com.bankcards.util.cipher.TextEncryptorCipherEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.crypto.encrypt.Encryptors;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Card number encryption engines; the default {@code jmh.args} add {@code -prof gc}, so allocation rate is reported next to throughput.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class EncryptionBenchmark {
+    private static final String SECRET = "mySuperSecretKey123";
+    private static final String CARD_NUMBER = "4111111111111111";
+
+    public enum Engine {
+        TEXT, AES_GCM
+    }
+
+    @Param({"TEXT", "AES_GCM"})
+    public Engine engine;
+
+    private CipherEngine cipherEngine;
+    private String ciphertext;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        cipherEngine = engine == Engine.TEXT
+                ? new TextEncryptorCipherEngine(Encryptors.text(SECRET, "deadbeef"))
+                : new AesGcmCipherEngine("k1", AesGcmCipherEngine.deriveKey(SECRET, "k1"));
+        ciphertext = cipherEngine.encrypt(CARD_NUMBER);
+    }
+
+    @Benchmark
+    public String encrypt() {
+        return cipherEngine.encrypt(CARD_NUMBER);
+    }
+
+    @Benchmark
+    public String decrypt() {
+        return cipherEngine.decrypt(ciphertext);
+    }
+}
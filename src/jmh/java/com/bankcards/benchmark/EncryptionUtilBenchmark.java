@@ -0,0 +1,62 @@
+package com.bankcards.benchmark;
+
+import com.bankcards.config.EncryptionProperties;
+import com.bankcards.util.EncryptionUtil;
+import com.bankcards.util.cipher.TextEncryptorCipherEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.encrypt.Encryptors;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link EncryptionUtil} as the application calls it, key ring lookup and decrypt observation included, on top of
+ * the raw engines measured by {@link EncryptionBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class EncryptionUtilBenchmark {
+    private static final String CARD_NUMBER = "4111111111111111";
+
+    private ConfigurableApplicationContext context;
+    private String ciphertext;
+    private String legacyCiphertext;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        EncryptionProperties.Secret secret = context.getBean(EncryptionProperties.class).getSecret();
+        String legacyKey = secret.getLegacyKey() != null ? secret.getLegacyKey() : secret.getKey();
+        ciphertext = EncryptionUtil.encrypt(CARD_NUMBER);
+        legacyCiphertext = new TextEncryptorCipherEngine(Encryptors.text(legacyKey, "deadbeef")).encrypt(CARD_NUMBER);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String encrypt() {
+        return EncryptionUtil.encrypt(CARD_NUMBER);
+    }
+
+    @Benchmark
+    public String decrypt() {
+        return EncryptionUtil.decrypt(ciphertext);
+    }
+
+    @Benchmark
+    public String decryptLegacy() {
+        return EncryptionUtil.decrypt(legacyCiphertext);
+    }
+}
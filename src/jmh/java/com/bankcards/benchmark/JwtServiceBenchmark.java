@@ -0,0 +1,90 @@
+package com.bankcards.benchmark;
+
+import com.bankcards.config.JwtProperties;
+import com.bankcards.dto.JwtAuthenticationDto;
+import com.bankcards.security.jwt.JwtService;
+import com.bankcards.security.jwt.TokenClaims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Access and refresh token signing, and token parsing both from the verified-token cache (every request after
+ * the first) and with full signature verification (first request per token).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtServiceBenchmark {
+    private static final int UNCACHED_TOKENS = 1_000;
+    private static final List<GrantedAuthority> AUTHORITIES = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+
+    private JwtProperties jwtProperties;
+    private JwtService jwtService;
+    private String token;
+    private String[] tokens;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jwtProperties = new JwtProperties();
+        byte[] secret = new byte[64];
+        new SecureRandom().nextBytes(secret);
+        jwtProperties.setSecret(Base64.getEncoder().encodeToString(secret));
+        jwtProperties.getAccess().setExpiration(60);
+        jwtProperties.getRefresh().setExpiration(7);
+        jwtService = new JwtService(jwtProperties);
+        token = jwtService.generateAuthToken(7L, "bench@bench.test", 0L, AUTHORITIES).getToken();
+        jwtService.parseToken(token);
+
+        tokens = new String[UNCACHED_TOKENS];
+        for (int i = 0; i < UNCACHED_TOKENS; i++) {
+            tokens[i] = jwtService.generateAuthToken((long) i, i + "@bench.test", 0L, AUTHORITIES).getToken();
+        }
+    }
+
+    /**
+     * A service with an empty verified-token cache for every invocation, so each token in the batch is verified.
+     */
+    @State(Scope.Thread)
+    public static class ColdCache {
+        JwtService jwtService;
+
+        @Setup(Level.Invocation)
+        public void setUp(JwtServiceBenchmark benchmark) {
+            jwtService = new JwtService(benchmark.jwtProperties);
+        }
+    }
+
+    @Benchmark
+    public JwtAuthenticationDto generateAuthToken() {
+        return jwtService.generateAuthToken(7L, "bench@bench.test", 0L, AUTHORITIES);
+    }
+
+    @Benchmark
+    public Optional<TokenClaims> parseTokenCached() {
+        return jwtService.parseToken(token);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(UNCACHED_TOKENS)
+    public void parseTokenUncached(ColdCache coldCache, Blackhole blackhole) {
+        for (String uncached : tokens) {
+            blackhole.consume(coldCache.jwtService.parseToken(uncached));
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.bankcards.benchmark;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Adds a fixed delay in front of every SQL statement to stand in for a slow database. The delay is taken
+ * while the statement's transaction holds its pooled connection, as a slow network round trip would.
+ */
+public class LatencyStatementInspector implements StatementInspector {
+    static volatile long latencyMillis;
+
+    @Override
+    public String inspect(String sql) {
+        if (latencyMillis > 0) {
+            try {
+                Thread.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return sql;
+    }
+}
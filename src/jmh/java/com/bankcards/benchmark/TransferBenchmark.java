@@ -0,0 +1,66 @@
+package com.bankcards.benchmark;
+
+import com.bankcards.config.TransferProperties;
+import com.bankcards.dto.TransferRequest;
+import com.bankcards.dto.TransferResponse;
+import com.bankcards.entity.User;
+import com.bankcards.service.TransferService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-based transfer paths (pessimistic / optimistic) against the two-statement conditional UPDATE path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TransferBenchmark {
+    private static final BigDecimal INITIAL_BALANCE = new BigDecimal("1000000000.00");
+
+    @Param({"PESSIMISTIC", "OPTIMISTIC", "ATOMIC_UPDATE"})
+    public TransferProperties.LockingMode lockingMode;
+
+    private ConfigurableApplicationContext context;
+    private TransferService transferService;
+    private Long userId;
+    private TransferRequest forward;
+    private TransferRequest backward;
+    private boolean flip;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("transfer.locking-mode=" + lockingMode);
+        transferService = context.getBean(TransferService.class);
+
+        User user = BenchmarkContext.createUser(context);
+        Long first = BenchmarkContext.createCard(context, user, INITIAL_BALANCE).getId();
+        Long second = BenchmarkContext.createCard(context, user, INITIAL_BALANCE).getId();
+
+        userId = user.getId();
+        forward = new TransferRequest(first, second, BigDecimal.ONE);
+        backward = new TransferRequest(second, first, BigDecimal.ONE);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TransferResponse transfer() {
+        flip = !flip;
+        return transferService.transferBetweenUserCards(flip ? forward : backward, userId, null);
+    }
+}
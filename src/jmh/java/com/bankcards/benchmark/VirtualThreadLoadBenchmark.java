@@ -0,0 +1,114 @@
+package com.bankcards.benchmark;
+
+import com.bankcards.entity.Card;
+import com.bankcards.entity.User;
+import com.bankcards.security.jwt.JwtService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 2,000 concurrent clients reading a card over HTTP while every SQL statement takes {@code dbLatencyMillis},
+ * on platform-thread Tomcat versus virtual threads. One operation is one full round of requests, so requests per
+ * second is {@code CLIENTS / score}. {@code poolSize} shows whether Tomcat threads or Hikari connections bound
+ * the throughput.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class VirtualThreadLoadBenchmark {
+    private static final int CLIENTS = 2_000;
+
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    @Param({"10", "400"})
+    public int poolSize;
+
+    @Param({"20"})
+    public long dbLatencyMillis;
+
+    private ConfigurableApplicationContext context;
+    private ExecutorService clients;
+    private HttpClient httpClient;
+    private HttpRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.startWeb(
+                "spring.threads.virtual.enabled=" + virtualThreads,
+                "spring.datasource.hikari.maximum-pool-size=" + poolSize,
+                "spring.datasource.hikari.connection-timeout=60000",
+                "server.tomcat.max-connections=" + (CLIENTS * 2),
+                "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                        + LatencyStatementInspector.class.getName());
+
+        User user = BenchmarkContext.createUser(context);
+        Card card = BenchmarkContext.createCard(context, user, BigDecimal.TEN);
+        String token = context.getBean(JwtService.class)
+                .generateAuthToken(user.getId(), user.getEmail(), user.getTokenVersion(), List.of(new SimpleGrantedAuthority("ROLE_USER")))
+                .getToken();
+        LatencyStatementInspector.latencyMillis = dbLatencyMillis;
+
+        String port = context.getEnvironment().getProperty("local.server.port");
+        clients = Executors.newVirtualThreadPerTaskExecutor();
+        httpClient = HttpClient.newBuilder().executor(clients).connectTimeout(Duration.ofSeconds(30)).build();
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/user/cards/" + card.getId()))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofMinutes(2))
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        LatencyStatementInspector.latencyMillis = 0;
+        clients.close();
+        context.close();
+    }
+
+    @Benchmark
+    public int concurrentCardReads() throws Exception {
+        List<Future<HttpResponse<Void>>> responses = new ArrayList<>(CLIENTS);
+        for (int i = 0; i < CLIENTS; i++) {
+            responses.add(clients.submit(() -> httpClient.send(request, HttpResponse.BodyHandlers.discarding())));
+        }
+        int ok = 0;
+        for (Future<HttpResponse<Void>> response : responses) {
+            if (response.get().statusCode() == 200) {
+                ok++;
+            }
+        }
+        if (ok != CLIENTS) {
+            throw new IllegalStateException(ok + " of " + CLIENTS + " requests succeeded");
+        }
+        return ok;
+    }
+}
@@ -3,6 +3,8 @@ package com.bankcards.config;
 import com.bankcards.entity.Role;
 import com.bankcards.repository.UserRepository;
 import com.bankcards.entity.User;
+import com.bankcards.entity.UserBalance;
+import com.bankcards.repository.UserBalanceRepository;
 import jakarta.annotation.PostConstruct;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
@@ -12,6 +14,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
+import java.math.BigDecimal;
 import java.util.Set;
 
 @Component
@@ -21,6 +24,7 @@ public class AdminUserInitializer {
     private static final Logger LOGGER = LoggerFactory.getLogger(AdminUserInitializer.class);
 
     UserRepository userRepository;
+    UserBalanceRepository userBalanceRepository;
     PasswordEncoder passwordEncoder;
 
     @PostConstruct
@@ -32,7 +36,7 @@ public class AdminUserInitializer {
             admin.setPassword(passwordEncoder.encode("admin123"));
             admin.setEmail("admin@example.com");
             admin.setRoles(Set.of(Role.ROLE_ADMIN, Role.ROLE_USER));
-            userRepository.save(admin);
+            userBalanceRepository.save(new UserBalance(userRepository.save(admin).getId(), BigDecimal.ZERO));
             LOGGER.info("Admin user created successfully");
         }
     }
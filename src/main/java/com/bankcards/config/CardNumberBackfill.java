@@ -0,0 +1,54 @@
+package com.bankcards.config;
+
+import com.bankcards.entity.Card;
+import com.bankcards.repository.CardRepository;
+import com.bankcards.util.BlindIndexUtil;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Fills {@code card_number_hash} and {@code last_four} for cards created before those columns existed.
+ * Both are derived from the decrypted number, so this cannot be done in the Liquibase changesets.
+ */
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class CardNumberBackfill implements ApplicationRunner {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CardNumberBackfill.class);
+    private static final int BATCH_SIZE = 500;
+
+    CardRepository cardRepository;
+    TransactionTemplate transactionTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int total = 0;
+        int updated;
+        do {
+            updated = transactionTemplate.execute(status -> {
+                List<Card> cards = cardRepository.findCardsWithoutDerivedNumberColumns(PageRequest.of(0, BATCH_SIZE));
+                cards.forEach(card -> {
+                    String cardNumber = card.getCardNumber();
+                    card.setCardNumberHash(BlindIndexUtil.hash(cardNumber));
+                    card.setLastFour(cardNumber.substring(cardNumber.length() - 4));
+                });
+                return cards.size();
+            });
+            total += updated;
+        } while (updated == BATCH_SIZE);
+
+        if (total > 0) {
+            LOGGER.info("Backfilled card number hash and last four digits for {} cards", total);
+        }
+    }
+}
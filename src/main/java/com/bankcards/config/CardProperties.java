@@ -0,0 +1,28 @@
+package com.bankcards.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "cards")
+@Getter
+@Setter
+public class CardProperties {
+    private Counts counts = new Counts();
+    private Balance balance = new Balance();
+
+    @Getter @Setter
+    public static class Counts {
+        private Duration refreshInterval = Duration.ofMinutes(5);
+    }
+
+    @Getter @Setter
+    public static class Balance {
+        private long cacheMaxSize = 100_000;
+        private Duration cacheTtl = Duration.ofMinutes(10);
+    }
+}
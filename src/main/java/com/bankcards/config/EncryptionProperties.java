@@ -5,10 +5,36 @@ import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 @Component
-@ConfigurationProperties(prefix = "encryption.secret")
+@ConfigurationProperties(prefix = "encryption")
 @Getter
 @Setter
 public class EncryptionProperties {
-    private String key;
+    private Engine engine = Engine.AES_GCM;
+    private Secret secret = new Secret();
+    private ReEncryption reEncryption = new ReEncryption();
+
+    @Getter @Setter
+    public static class Secret {
+        private String key;
+        private String keyId = "k1";
+        private Map<String, String> keys = new LinkedHashMap<>();
+        private String legacyKey;
+        private String blindIndexKey;
+    }
+
+    @Getter @Setter
+    public static class ReEncryption {
+        private int chunkSize = 500;
+        private int threads = 4;
+        private Duration pause = Duration.ofMillis(50);
+    }
+
+    public enum Engine {
+        AES_GCM, TEXT
+    }
 }
@@ -5,6 +5,8 @@ import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+
 @Component
 @ConfigurationProperties(prefix = "jwt")
 @Getter
@@ -13,6 +15,9 @@ public class JwtProperties {
     private String secret;
     private Access access = new Access();
     private Refresh refresh = new Refresh();
+    private Cache cache = new Cache();
+    private Authentication authentication = new Authentication();
+    private Revocation revocation = new Revocation();
 
     @Getter @Setter
     public static class Access {
@@ -23,4 +28,23 @@ public class JwtProperties {
     public static class Refresh {
         private long expiration;
     }
+
+    @Getter @Setter
+    public static class Cache {
+        private long maxSize = 10_000;
+    }
+
+    @Getter @Setter
+    public static class Authentication {
+        private AuthenticationMode mode = AuthenticationMode.CLAIMS;
+    }
+
+    @Getter @Setter
+    public static class Revocation {
+        private Duration cacheTtl = Duration.ofSeconds(30);
+    }
+
+    public enum AuthenticationMode {
+        CLAIMS, DATABASE
+    }
 }
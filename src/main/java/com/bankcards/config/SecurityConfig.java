@@ -34,6 +34,8 @@ public class SecurityConfig {
                                 "/user/registration",
                                 "/api/auth/**").permitAll()
                         .requestMatchers("/api/admin/**").hasRole("ADMIN")
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .requestMatchers("/api/user/**", "/api/cards/**", "/api/transfer/**").hasRole("USER")
                         .anyRequest().authenticated()
                 )
@@ -0,0 +1,38 @@
+package com.bankcards.config;
+
+import io.micrometer.observation.ObservationPredicate;
+import io.opentelemetry.exporter.logging.LoggingSpanExporter;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Exports finished spans to the application log, so traces can be read without a collector. Spring Boot bridges
+ * observations to OpenTelemetry spans and samples them with {@link TracingSampler}.
+ */
+@Configuration
+public class TracingConfig {
+    public static final String JWT_PARSE = "bankcards.jwt.parse";
+    public static final String JWT_USER_LOAD = "bankcards.jwt.user-load";
+    public static final String CRYPTO_DECRYPT = "bankcards.crypto.decrypt";
+    private static final String JDBC_PREFIX = "jdbc.";
+
+    @Bean
+    public SpanExporter loggingSpanExporter() {
+        return LoggingSpanExporter.create();
+    }
+
+    /**
+     * The per-call observations only exist for tracing; skipping them while tracing is off keeps the hot path at a
+     * single volatile read instead of a timer update and an unsampled span per call.
+     */
+    @Bean
+    public ObservationPredicate traceOnlyObservations(TracingSampler tracingSampler) {
+        return (name, context) -> tracingSampler.isEnabled() || !isTraceOnly(name);
+    }
+
+    private static boolean isTraceOnly(String name) {
+        return name.equals(JWT_PARSE) || name.equals(JWT_USER_LOAD) || name.equals(CRYPTO_DECRYPT)
+                || name.startsWith(JDBC_PREFIX);
+    }
+}
@@ -0,0 +1,39 @@
+package com.bankcards.config;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * {@code /actuator/tracing}: reads and switches request tracing without a restart.
+ */
+@Component
+@Endpoint(id = "tracing")
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class TracingEndpoint {
+    TracingSampler tracingSampler;
+
+    @ReadOperation
+    public Map<String, Object> tracing() {
+        return Map.of("enabled", tracingSampler.isEnabled(), "probability", tracingSampler.getProbability());
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<Map<String, Object>> configure(boolean enabled, @Nullable Double probability) {
+        try {
+            tracingSampler.update(enabled, probability != null ? probability : tracingSampler.getProbability());
+        } catch (IllegalArgumentException e) {
+            return new WebEndpointResponse<>(Map.of("error", e.getMessage()), WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+        return new WebEndpointResponse<>(tracing());
+    }
+}
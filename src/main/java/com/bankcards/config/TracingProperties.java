@@ -0,0 +1,19 @@
+package com.bankcards.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Startup state of request tracing; {@link TracingSampler} can change it at runtime through the
+ * {@code tracing} actuator endpoint.
+ */
+@Component
+@ConfigurationProperties(prefix = "tracing")
+@Getter
+@Setter
+public class TracingProperties {
+    private boolean enabled = false;
+    private double probability = 1.0;
+}
@@ -0,0 +1,57 @@
+package com.bankcards.config;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.data.LinkData;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import io.opentelemetry.sdk.trace.samplers.SamplingResult;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Root sampler for request traces that can be switched on, off or to another ratio at runtime. While it is off,
+ * {@link TracingConfig} also skips the fine-grained JWT, crypto and JDBC observations entirely.
+ */
+@Component
+public class TracingSampler implements Sampler {
+    private volatile boolean enabled;
+    private volatile double probability;
+    private volatile Sampler delegate;
+
+    public TracingSampler(TracingProperties properties) {
+        update(properties.isEnabled(), properties.getProbability());
+    }
+
+    public synchronized void update(boolean enabled, double probability) {
+        if (probability < 0.0 || probability > 1.0) {
+            throw new IllegalArgumentException("Sampling probability must be between 0 and 1: " + probability);
+        }
+        this.delegate = Sampler.parentBased(Sampler.traceIdRatioBased(probability));
+        this.probability = probability;
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public double getProbability() {
+        return probability;
+    }
+
+    @Override
+    public SamplingResult shouldSample(Context parentContext, String traceId, String name, SpanKind spanKind,
+                                       Attributes attributes, List<LinkData> parentLinks) {
+        if (!enabled) {
+            return SamplingResult.drop();
+        }
+        return delegate.shouldSample(parentContext, traceId, name, spanKind, attributes, parentLinks);
+    }
+
+    @Override
+    public String getDescription() {
+        return "TracingSampler{enabled=" + enabled + ", probability=" + probability + "}";
+    }
+}
@@ -0,0 +1,40 @@
+package com.bankcards.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "transfer")
+@Getter
+@Setter
+public class TransferProperties {
+    private LockingMode lockingMode = LockingMode.PESSIMISTIC;
+    private Retry retry = new Retry();
+    private Idempotency idempotency = new Idempotency();
+    private Batch batch = new Batch();
+
+    @Getter @Setter
+    public static class Retry {
+        private int maxAttempts = 3;
+        private Duration backoff = Duration.ofMillis(20);
+    }
+
+    @Getter @Setter
+    public static class Idempotency {
+        private long maxSize = 100_000;
+        private Duration ttl = Duration.ofHours(24);
+    }
+
+    @Getter @Setter
+    public static class Batch {
+        private int maxSize = 500;
+    }
+
+    public enum LockingMode {
+        PESSIMISTIC, OPTIMISTIC, ATOMIC_UPDATE
+    }
+}
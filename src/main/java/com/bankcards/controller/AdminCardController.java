@@ -1,13 +1,20 @@
 package com.bankcards.controller;
 
+import com.bankcards.dto.CardCountsDto;
 import com.bankcards.dto.CardDto;
+import com.bankcards.dto.CardFilter;
+import com.bankcards.dto.CursorPageDto;
+import com.bankcards.dto.ReEncryptionStatusDto;
 import com.bankcards.entity.CardStatus;
 import com.bankcards.service.AdminCardService;
+import com.bankcards.service.CardReEncryptionService;
 import io.swagger.v3.oas.annotations.Operation;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -27,6 +34,7 @@ import org.springframework.web.bind.annotation.RestController;
 @PreAuthorize("hasRole('ADMIN')")
 public class AdminCardController {
     AdminCardService adminCardService;
+    CardReEncryptionService cardReEncryptionService;
 
     @PostMapping("/{userId}")
     @Operation(summary = "Create card for user")
@@ -60,9 +68,33 @@ public class AdminCardController {
     @Operation(summary = "Get all cards with filtering")
     public ResponseEntity<Page<CardDto>> getAllCards(@RequestParam(defaultValue = "0") int page,
                                                      @RequestParam(defaultValue = "10") int size,
-                                                     @RequestParam(required = false) CardStatus status) {
+                                                     @ParameterObject CardFilter filter) {
 
-        Page<CardDto> cards = adminCardService.getAllCards(page, size, status);
+        Page<CardDto> cards = adminCardService.getAllCards(page, size, filter);
+        return ResponseEntity.ok(cards);
+    }
+
+    @GetMapping("/slice")
+    @Operation(summary = "Get all cards without total count")
+    public ResponseEntity<Slice<CardDto>> getAllCardsSlice(@RequestParam(defaultValue = "0") int page,
+                                                           @RequestParam(defaultValue = "10") int size,
+                                                           @ParameterObject CardFilter filter) {
+        Slice<CardDto> cards = adminCardService.getAllCardsSlice(page, size, filter);
+        return ResponseEntity.ok(cards);
+    }
+
+    @GetMapping("/counts")
+    @Operation(summary = "Get card counts by status")
+    public ResponseEntity<CardCountsDto> getCardCounts() {
+        return ResponseEntity.ok(adminCardService.getCardCounts());
+    }
+
+    @GetMapping("/cursor")
+    @Operation(summary = "Get all cards page by cursor")
+    public ResponseEntity<CursorPageDto<CardDto>> getAllCardsByCursor(@RequestParam(required = false) String cursor,
+                                                                      @RequestParam(defaultValue = "10") int size,
+                                                                      @ParameterObject CardFilter filter) {
+        CursorPageDto<CardDto> cards = adminCardService.getAllCardsByCursor(cursor, size, filter);
         return ResponseEntity.ok(cards);
     }
 
@@ -76,4 +108,17 @@ public class AdminCardController {
         Page<CardDto> cards = adminCardService.getCardsByUser(userId, page, size);
         return ResponseEntity.ok(cards);
     }
+
+    @PostMapping("/re-encryption")
+    @Operation(summary = "Re-encrypt card numbers with the active key")
+    public ResponseEntity<ReEncryptionStatusDto> startReEncryption() {
+        ReEncryptionStatusDto status = cardReEncryptionService.start();
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(status);
+    }
+
+    @GetMapping("/re-encryption")
+    @Operation(summary = "Get card re-encryption progress")
+    public ResponseEntity<ReEncryptionStatusDto> getReEncryptionStatus() {
+        return ResponseEntity.ok(cardReEncryptionService.getStatus());
+    }
 }
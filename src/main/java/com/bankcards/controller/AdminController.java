@@ -20,6 +20,8 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.math.BigDecimal;
+
 @RestController
 @RequestMapping("/api/admin")
 @RequiredArgsConstructor
@@ -50,4 +52,10 @@ public class AdminController {
         UserDto updatedUser = adminService.updateUser(userId, updateUserDto);
         return ResponseEntity.ok(updatedUser);
     }
+
+    @PostMapping("/{userId}/balance/recount")
+    @Operation(summary = "Recount user's total balance from their cards")
+    public ResponseEntity<BigDecimal> recountBalance(@PathVariable Long userId) {
+        return ResponseEntity.ok(adminService.recountBalance(userId));
+    }
 }
@@ -1,5 +1,7 @@
 package com.bankcards.controller;
 
+import com.bankcards.dto.BatchTransferRequest;
+import com.bankcards.dto.BatchTransferResponse;
 import com.bankcards.dto.TransferRequest;
 import com.bankcards.dto.TransferResponse;
 import com.bankcards.security.CustomUserDetails;
@@ -14,6 +16,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -24,6 +27,8 @@ import org.springframework.web.bind.annotation.RestController;
 @PreAuthorize("hasRole('USER')")
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class TransferController {
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     TransferService transferService;
 
     @PostMapping
@@ -31,10 +36,25 @@ public class TransferController {
     @Operation(summary = "Transfer between user cards")
     public ResponseEntity<TransferResponse> transferBetweenUserCards(
             @Valid @RequestBody TransferRequest transferRequest,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
             Authentication auth) {
         CustomUserDetails details = (CustomUserDetails) auth.getPrincipal();
 
-        TransferResponse transferResponse = transferService.transferBetweenUserCards(transferRequest, details.getUsername());
+        TransferResponse transferResponse = transferService.transferBetweenUserCards(
+                transferRequest, details.userId(), idempotencyKey);
         return ResponseEntity.ok(transferResponse);
     }
+
+    @PostMapping("/batch")
+    @PreAuthorize("hasRole('USER')")
+    @Operation(summary = "Batch transfer between user cards")
+    public ResponseEntity<BatchTransferResponse> transferBatch(
+            @Valid @RequestBody BatchTransferRequest batchTransferRequest,
+            Authentication auth) {
+        CustomUserDetails details = (CustomUserDetails) auth.getPrincipal();
+
+        BatchTransferResponse batchTransferResponse = transferService.transferBatch(
+                batchTransferRequest.getTransfers(), details.userId());
+        return ResponseEntity.ok(batchTransferResponse);
+    }
 }
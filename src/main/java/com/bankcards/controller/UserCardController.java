@@ -2,12 +2,14 @@ package com.bankcards.controller;
 
 import com.bankcards.service.UserCardService;
 import com.bankcards.dto.CardDto;
-import com.bankcards.entity.CardStatus;
+import com.bankcards.dto.CardFilter;
+import com.bankcards.dto.CursorPageDto;
 import com.bankcards.security.CustomUserDetails;
 import io.swagger.v3.oas.annotations.Operation;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -34,12 +36,24 @@ public class UserCardController {
     public ResponseEntity<Page<CardDto>> getMyCards(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(required = false) String search,
-            @RequestParam(required = false) CardStatus status,
+            @ParameterObject CardFilter filter,
             Authentication auth) {
         CustomUserDetails details = (CustomUserDetails) auth.getPrincipal();
 
-        Page<CardDto> cards = cardService.getUserCardsByEmail(details.getUsername(), page, size, search, status);
+        Page<CardDto> cards = cardService.getUserCards(details.userId(), page, size, filter);
+        return ResponseEntity.ok(cards);
+    }
+
+    @GetMapping("/cursor")
+    @Operation(summary = "Get user's cards page by cursor")
+    public ResponseEntity<CursorPageDto<CardDto>> getMyCardsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @ParameterObject CardFilter filter,
+            Authentication auth) {
+        CustomUserDetails details = (CustomUserDetails) auth.getPrincipal();
+
+        CursorPageDto<CardDto> cards = cardService.getUserCardsByCursor(details.userId(), cursor, size, filter);
         return ResponseEntity.ok(cards);
     }
 
@@ -48,7 +62,7 @@ public class UserCardController {
     public ResponseEntity<CardDto> getUserCard(@PathVariable Long cardId, Authentication auth) {
         CustomUserDetails details = (CustomUserDetails) auth.getPrincipal();
 
-        CardDto card = cardService.getCardForUserByEmail(cardId, details.getUsername());
+        CardDto card = cardService.getCardForUser(cardId, details.userId());
         return ResponseEntity.ok(card);
     }
 
@@ -57,7 +71,7 @@ public class UserCardController {
     public ResponseEntity<Void> requestCardBlock(@PathVariable Long cardId, Authentication auth) {
         CustomUserDetails details = (CustomUserDetails) auth.getPrincipal();
 
-        cardService.requestCardBlockByEmail(cardId, details.getUsername());
+        cardService.requestCardBlock(cardId, details.userId());
         return ResponseEntity.accepted().build();
     }
 
@@ -66,7 +80,7 @@ public class UserCardController {
     public ResponseEntity<BigDecimal> getUserBalance(Authentication auth) {
         CustomUserDetails details = (CustomUserDetails) auth.getPrincipal();
 
-        BigDecimal balance = cardService.getBalanceForUserByEmail(details.getUsername());
+        BigDecimal balance = cardService.getBalanceForUser(details.userId());
         return ResponseEntity.ok(balance != null ? balance : BigDecimal.ZERO);
     }
 }
@@ -0,0 +1,18 @@
+package com.bankcards.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class BatchTransferItemResult {
+    private int index;
+    private boolean success;
+    private TransferResponse transfer;
+    private String error;
+}
@@ -0,0 +1,21 @@
+package com.bankcards.dto;
+
+import com.bankcards.entity.CardStatus;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class CardCountsDto {
+    private Map<CardStatus, Long> byStatus;
+    private long total;
+    private LocalDateTime refreshedAt;
+}
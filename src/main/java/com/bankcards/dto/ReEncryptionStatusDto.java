@@ -0,0 +1,33 @@
+package com.bankcards.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ReEncryptionStatusDto {
+    private ReEncryptionState state;
+    private long totalCards;
+    private long scannedCards;
+    private long reEncryptedCards;
+    private long skippedCards;
+    /**
+     * Rows written in batches whose driver reported {@code SUCCESS_NO_INFO}, so neither rewritten nor skipped is known.
+     */
+    private long unconfirmedCards;
+    private Long lastCardId;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+
+    public enum ReEncryptionState {
+        IDLE, RUNNING, COMPLETED, FAILED
+    }
+}
@@ -14,6 +14,7 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE)
 public class TransferResponse {
+    private Long id;
     private Long sourceCardId;
     private Long targetCardId;
     private BigDecimal amount;
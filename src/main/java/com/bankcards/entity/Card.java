@@ -1,8 +1,8 @@
 package com.bankcards.entity;
 
-import com.bankcards.util.CardNumberEncryptor;
+import com.bankcards.util.BlindIndexUtil;
+import com.bankcards.util.EncryptionUtil;
 import jakarta.persistence.Column;
-import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
@@ -12,12 +12,21 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import jakarta.persistence.Version;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.math.BigDecimal;
@@ -29,16 +38,31 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Entity
 @Table(name = "cards")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Card.CACHE_REGION)
 @FieldDefaults(level = AccessLevel.PRIVATE)
 public class Card {
+    public static final String CACHE_REGION = "cards";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(name = "card_number", nullable = false, unique = true)
-    @Convert(converter = CardNumberEncryptor.class)
+    @Column(name = "card_number", nullable = false, unique = true, updatable = false)
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private String encryptedCardNumber;
+
+    @Transient
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private String cardNumber;
 
+    @Column(name = "last_four", length = 4)
+    private String lastFour;
+
+    @Column(name = "card_number_hash", unique = true, length = 64)
+    private String cardNumberHash;
+
     @Column(name = "expiry_date", nullable = false)
     private LocalDate expiryDate;
 
@@ -56,4 +80,33 @@ public class Card {
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
+
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    /**
+     * The full number is decrypted only when it is actually read; listings render {@link #lastFour}.
+     */
+    public String getCardNumber() {
+        if (cardNumber == null && encryptedCardNumber != null) {
+            cardNumber = EncryptionUtil.decrypt(encryptedCardNumber);
+        }
+        return cardNumber;
+    }
+
+    /**
+     * Only meaningful before the card is issued: {@code card_number} is not updatable and its hash is computed on
+     * insert. {@link com.bankcards.service.impl.AdminCardServiceImpl#createCard} refuses to re-issue a stored card.
+     */
+    public void setCardNumber(String cardNumber) {
+        this.cardNumber = cardNumber;
+        this.lastFour = cardNumber == null ? null : cardNumber.substring(cardNumber.length() - 4);
+    }
+
+    @PrePersist
+    void encryptCardNumber() {
+        encryptedCardNumber = EncryptionUtil.encrypt(cardNumber);
+        cardNumberHash = BlindIndexUtil.hash(cardNumber);
+    }
 }
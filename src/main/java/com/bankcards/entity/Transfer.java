@@ -0,0 +1,53 @@
+package com.bankcards.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Immutable
+@Table(name = "transfers")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class Transfer {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transfers_id_seq")
+    @SequenceGenerator(name = "transfers_id_seq", sequenceName = "transfers_id_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "source_card_id", nullable = false, updatable = false)
+    private Long sourceCardId;
+
+    @Column(name = "target_card_id", nullable = false, updatable = false)
+    private Long targetCardId;
+
+    @Column(nullable = false, updatable = false)
+    private BigDecimal amount;
+
+    /**
+     * Owner of the source card at the time of the transfer; idempotency keys are unique per user.
+     */
+    @Column(name = "user_id", updatable = false)
+    private Long userId;
+
+    @Column(name = "idempotency_key", updatable = false)
+    private String idempotencyKey;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
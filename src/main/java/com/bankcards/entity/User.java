@@ -17,6 +17,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -26,8 +28,12 @@ import java.util.Set;
 @AllArgsConstructor
 @Entity
 @Table(name = "users")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = User.CACHE_REGION)
 @FieldDefaults(level = AccessLevel.PRIVATE)
 public class User {
+    public static final String CACHE_REGION = "users";
+    public static final String ROLES_CACHE_REGION = "users-roles";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     Long id;
@@ -48,5 +54,13 @@ public class User {
     @ElementCollection(fetch = FetchType.EAGER)
     @CollectionTable(name = "user_roles", joinColumns = @JoinColumn(name = "user_id"))
     @Column(name = "role")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = User.ROLES_CACHE_REGION)
     private Set<Role> roles = new HashSet<>();
+
+    /**
+     * Bumped whenever the user's existing access tokens must stop being trusted; tokens carry the version they were
+     * issued with.
+     */
+    @Column(name = "token_version", nullable = false)
+    private long tokenVersion;
 }
@@ -0,0 +1,31 @@
+package com.bankcards.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.math.BigDecimal;
+
+/**
+ * Running total of a user's card balances, kept next to the cards so the balance endpoint reads one row by id.
+ */
+@Entity
+@Table(name = "user_balances")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class UserBalance {
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "total_balance", nullable = false)
+    private BigDecimal totalBalance;
+}
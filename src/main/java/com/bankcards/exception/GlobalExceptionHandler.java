@@ -1,5 +1,9 @@
 package com.bankcards.exception;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -10,72 +14,101 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 
 
 
+/**
+ * Maps exceptions to responses and counts every handled exception in {@code bankcards.exceptions}, tagged with
+ * the exception class.
+ */
 @ControllerAdvice
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class GlobalExceptionHandler {
+    MeterRegistry meterRegistry;
 
     @ExceptionHandler(BadCredentialsException.class)
     @ResponseStatus(HttpStatus.UNAUTHORIZED)
     public ResponseEntity<String> handleException(BadCredentialsException exception) {
+        count(exception);
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Authentication Failed " + exception.getMessage());
     }
 
     @ExceptionHandler(AccessDeniedException.class)
     @ResponseStatus(HttpStatus.FORBIDDEN)
     public ResponseEntity<String> handleException(AccessDeniedException exception) {
+        count(exception);
         return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Authentication Failed " + exception.getMessage());
     }
 
     @ExceptionHandler(Exception.class)
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public ResponseEntity<String> handleGenericException(Exception exception) {
+        count(exception);
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("An error occurred" + exception.getMessage());
     }
 
     @ExceptionHandler(CardNotActiveException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ResponseEntity<String> handleCardNotActiveException(CardNotActiveException exception) {
+        count(exception);
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Card not active: " + exception.getMessage());
     }
 
     @ExceptionHandler(EncryptionException.class)
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public ResponseEntity<String> handleEncryptionException(EncryptionException exception) {
+        count(exception);
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Encryption error: " + exception.getMessage());
     }
 
     @ExceptionHandler(InsufficientFundsException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ResponseEntity<String> handleInsufficientFundsException(InsufficientFundsException exception) {
+        count(exception);
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Insufficient funds: " + exception.getMessage());
     }
 
     @ExceptionHandler(InvalidTransferAmountException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ResponseEntity<String> handleInvalidTransferAmountException(InvalidTransferAmountException exception) {
+        count(exception);
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid transfer amount: " + exception.getMessage());
     }
 
     @ExceptionHandler(NotFoundException.class)
     @ResponseStatus(HttpStatus.NOT_FOUND)
     public ResponseEntity<String> handleNotFoundException(NotFoundException exception) {
+        count(exception);
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Not found: " + exception.getMessage());
     }
 
     @ExceptionHandler(SameCardTransferException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ResponseEntity<String> handleSameCardTransferException(SameCardTransferException exception) {
+        count(exception);
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Same card transfer: " + exception.getMessage());
     }
 
+    @ExceptionHandler(TransferConflictException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ResponseEntity<String> handleTransferConflictException(TransferConflictException exception) {
+        count(exception);
+        return ResponseEntity.status(HttpStatus.CONFLICT).body("Transfer conflict: " + exception.getMessage());
+    }
+
     @ExceptionHandler(ValidationException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ResponseEntity<String> handleValidationException(ValidationException exception) {
+        count(exception);
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Validation error: " + exception.getMessage());
     }
 
     @ExceptionHandler
     @ResponseStatus(HttpStatus.CONFLICT)
     public ResponseEntity<String> handleDuplicated(final DuplicatedDataException exception) {
+        count(exception);
         return ResponseEntity.status(HttpStatus.CONFLICT).body("Integrity constraint has been violated. " + exception.getMessage());
     }
+
+    private void count(Exception exception) {
+        meterRegistry.counter("bankcards.exceptions", "exception", exception.getClass().getSimpleName()).increment();
+    }
 }
@@ -0,0 +1,7 @@
+package com.bankcards.exception;
+
+public class TransferConflictException extends RuntimeException {
+    public TransferConflictException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
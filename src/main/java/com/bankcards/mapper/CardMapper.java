@@ -1,14 +1,19 @@
 package com.bankcards.mapper;
 
 import com.bankcards.dto.CardDto;
+import com.bankcards.dto.CursorPageDto;
 import com.bankcards.entity.Card;
 import com.bankcards.entity.User;
+import com.bankcards.repository.CardListView;
+import com.bankcards.util.CardCursor;
 import com.bankcards.util.CardMaskingService;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Component
 @RequiredArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
@@ -23,7 +28,7 @@ public class CardMapper {
         CardDto dto = new CardDto();
 
         dto.setId(card.getId());
-        dto.setMaskedCardNumber(cardMaskingService.maskCardNumber(card.getCardNumber()));
+        dto.setMaskedCardNumber(maskCardNumber(card));
         dto.setOwnerName(formatUserName(card.getUser()));
         dto.setExpiryDate(card.getExpiryDate());
         dto.setStatus(card.getStatus());
@@ -33,6 +38,43 @@ public class CardMapper {
         return dto;
     }
 
+    public CardDto mapCardListViewToCardDto(CardListView view) {
+        if (view == null) {
+            return null;
+        }
+
+        CardDto dto = new CardDto();
+
+        dto.setId(view.id());
+        dto.setMaskedCardNumber(cardMaskingService.maskLastFour(view.lastFour()));
+        dto.setOwnerName(view.ownerFirstName() + " " + view.ownerLastName());
+        dto.setExpiryDate(view.expiryDate());
+        dto.setStatus(view.status());
+        dto.setBalance(view.balance());
+        dto.setCreatedAt(view.createdAt());
+
+        return dto;
+    }
+
+    /**
+     * Expects up to {@code size + 1} rows: the extra row only signals that another page exists.
+     */
+    public CursorPageDto<CardDto> mapCardsToCursorPage(List<CardListView> rows, int size) {
+        boolean hasNext = rows.size() > size;
+        List<CardListView> content = hasNext ? rows.subList(0, size) : rows;
+        CardListView last = hasNext ? content.get(content.size() - 1) : null;
+        String nextCursor = hasNext ? new CardCursor(last.createdAt(), last.id()).encode() : null;
+
+        return new CursorPageDto<>(content.stream().map(this::mapCardListViewToCardDto).toList(), nextCursor, hasNext);
+    }
+
+    private String maskCardNumber(Card card) {
+        if (card.getLastFour() != null) {
+            return cardMaskingService.maskLastFour(card.getLastFour());
+        }
+        return cardMaskingService.maskCardNumber(card.getCardNumber());
+    }
+
     private String formatUserName(User user) {
         if (user == null) return null;
         return user.getFirstName() + " " + user.getLastName();
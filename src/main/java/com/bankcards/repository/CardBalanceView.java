@@ -0,0 +1,11 @@
+package com.bankcards.repository;
+
+import com.bankcards.entity.CardStatus;
+
+import java.math.BigDecimal;
+
+public interface CardBalanceView {
+    CardStatus getStatus();
+
+    BigDecimal getBalance();
+}
@@ -0,0 +1,20 @@
+package com.bankcards.repository;
+
+import com.bankcards.entity.CardStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One row of a card listing, selected together with the owner's name so a page is a single statement.
+ */
+public record CardListView(Long id,
+                           String lastFour,
+                           String ownerFirstName,
+                           String ownerLastName,
+                           LocalDate expiryDate,
+                           CardStatus status,
+                           BigDecimal balance,
+                           LocalDateTime createdAt) {
+}
@@ -0,0 +1,19 @@
+package com.bankcards.repository;
+
+import com.bankcards.entity.Card;
+import com.bankcards.util.CardCursor;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface CardListingRepository {
+    Page<CardListView> findListing(Specification<Card> spec, Pageable pageable);
+
+    Slice<CardListView> findListingSlice(Specification<Card> spec, Pageable pageable);
+
+    List<CardListView> findListingBefore(Specification<Card> spec, CardCursor cursor, Limit limit);
+}
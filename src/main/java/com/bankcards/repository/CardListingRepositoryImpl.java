@@ -0,0 +1,99 @@
+package com.bankcards.repository;
+
+import com.bankcards.entity.Card;
+import com.bankcards.entity.User;
+import com.bankcards.util.CardCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.List;
+
+/**
+ * Listing queries that select {@link CardListView} rows with an inner join on the owner, instead of loading
+ * {@link Card} entities and initializing each lazy {@code user} proxy (plus its eager roles) one row at a time.
+ */
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class CardListingRepositoryImpl implements CardListingRepository {
+    EntityManager entityManager;
+
+    @Override
+    public Page<CardListView> findListing(Specification<Card> spec, Pageable pageable) {
+        List<CardListView> content = entityManager.createQuery(listingQuery(spec, pageable.getSort()))
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(spec));
+    }
+
+    @Override
+    public Slice<CardListView> findListingSlice(Specification<Card> spec, Pageable pageable) {
+        List<CardListView> rows = entityManager.createQuery(listingQuery(spec, pageable.getSort()))
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+    }
+
+    @Override
+    public List<CardListView> findListingBefore(Specification<Card> spec, CardCursor cursor, Limit limit) {
+        return entityManager.createQuery(listingQuery(spec.and(CardSpecifications.before(cursor)), CardCursor.ORDER))
+                .setMaxResults(limit.max())
+                .getResultList();
+    }
+
+    private CriteriaQuery<CardListView> listingQuery(Specification<Card> spec, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<CardListView> query = cb.createQuery(CardListView.class);
+        Root<Card> card = query.from(Card.class);
+        Join<Card, User> user = CardSpecifications.userJoin(card);
+
+        query.select(cb.construct(CardListView.class,
+                card.get("id"),
+                card.get("lastFour"),
+                user.get("firstName"),
+                user.get("lastName"),
+                card.get("expiryDate"),
+                card.get("status"),
+                card.get("balance"),
+                card.get("createdAt")));
+        where(query, spec.toPredicate(card, query, cb));
+        query.orderBy(QueryUtils.toOrders(sort, card, cb));
+        return query;
+    }
+
+    private long count(Specification<Card> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Card> card = query.from(Card.class);
+
+        query.select(cb.count(card));
+        where(query, spec.toPredicate(card, query, cb));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private void where(CriteriaQuery<?> query, Predicate predicate) {
+        if (predicate != null) {
+            query.where(predicate);
+        }
+    }
+}
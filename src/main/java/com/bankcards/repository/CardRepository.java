@@ -1,36 +1,82 @@
 package com.bankcards.repository;
 
 import com.bankcards.entity.Card;
-import com.bankcards.entity.CardStatus;
 import com.bankcards.entity.User;
+import com.bankcards.util.BlindIndexUtil;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.SpecHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-public interface CardRepository extends JpaRepository<Card, Long> {
+public interface CardRepository extends JpaRepository<Card, Long>, JpaSpecificationExecutor<Card>,
+        CardListingRepository {
 
     Page<Card> findByUser(User user, Pageable pageable);
 
-    @Query("SELECT c FROM Card c WHERE " +
-            "(:status IS NULL OR c.status = :status)")
-    Page<Card> findAllWithFilters(@Param("status") CardStatus status,
-                                  Pageable pageable);
+    @Query("SELECT c.status AS status, COUNT(c) AS count FROM Card c GROUP BY c.status")
+    List<CardStatusCountView> countGroupByStatus();
 
-    @Query("SELECT c FROM Card c WHERE c.user.email = :email AND " +
-            "(:status IS NULL OR c.status = :status)")
-    Page<Card> findByUserWithFilters(@Param("email") String email,
-                                     @Param("status") CardStatus status,
-                                     Pageable pageable);
+    @Query("SELECT c FROM Card c WHERE c.id = :cardId AND c.user.id = :userId")
+    Optional<Card> findByIdAndUserId(@Param("cardId") Long id, @Param("userId") Long userId);
 
-    @Query("SELECT c FROM Card c WHERE c.user.email = :email AND " +
-            "c.id = :cardId")
-    Optional<Card> findByIdAndEmail(@Param("cardId")Long id,@Param("email")  String email);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Card c WHERE c.id = :cardId AND c.user.id = :userId")
+    Optional<Card> findByIdAndUserIdForUpdate(@Param("cardId") Long id, @Param("userId") Long userId);
 
-    @Query("SELECT SUM(c.balance) FROM Card c WHERE c.user.email = :email")
-    Optional<BigDecimal> getBalanceByEmail(@Param("email") String email);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Card c WHERE c.id IN :cardIds AND c.user.id = :userId ORDER BY c.id")
+    List<Card> findAllByIdInAndUserIdForUpdate(@Param("cardIds") Collection<Long> ids, @Param("userId") Long userId);
+
+    @Modifying
+    @Query("UPDATE Card c SET c.balance = c.balance - :amount, c.version = c.version + 1 " +
+            "WHERE c.id = :cardId AND c.user.id = :userId " +
+            "AND c.status = com.bankcards.entity.CardStatus.ACTIVE AND c.balance >= :amount")
+    int debitActiveCard(@Param("cardId") Long id, @Param("userId") Long userId, @Param("amount") BigDecimal amount);
+
+    @Modifying
+    @Query("UPDATE Card c SET c.balance = c.balance + :amount, c.version = c.version + 1 " +
+            "WHERE c.id = :cardId AND c.user.id = :userId " +
+            "AND c.status = com.bankcards.entity.CardStatus.ACTIVE")
+    int creditActiveCard(@Param("cardId") Long id, @Param("userId") Long userId, @Param("amount") BigDecimal amount);
+
+    @Query("SELECT c.status AS status, c.balance AS balance FROM Card c WHERE c.id = :cardId AND c.user.id = :userId")
+    Optional<CardBalanceView> findBalanceByIdAndUserId(@Param("cardId") Long id, @Param("userId") Long userId);
+
+    Optional<Card> findByCardNumberHash(String cardNumberHash);
+
+    boolean existsByCardNumberHash(String cardNumberHash);
+
+    /**
+     * Startup backfill scan over unindexed columns; exempt from the request-path query timeout.
+     */
+    @Query("SELECT c FROM Card c WHERE c.cardNumberHash IS NULL OR c.lastFour IS NULL ORDER BY c.id")
+    @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_QUERY_TIMEOUT, value = "0"))
+    List<Card> findCardsWithoutDerivedNumberColumns(Pageable pageable);
+
+    default Optional<Card> findByCardNumber(String cardNumber) {
+        return findByCardNumberHash(BlindIndexUtil.hash(cardNumber));
+    }
+
+    default boolean existsByCardNumber(String cardNumber) {
+        return existsByCardNumberHash(BlindIndexUtil.hash(cardNumber));
+    }
+
+    @Query("SELECT c.id FROM Card c WHERE c.user.id = :userId")
+    List<Long> findIdsByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT SUM(c.balance) FROM Card c WHERE c.user.id = :userId")
+    Optional<BigDecimal> sumBalanceByUserId(@Param("userId") Long userId);
 }
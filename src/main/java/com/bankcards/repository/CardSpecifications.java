@@ -0,0 +1,153 @@
+package com.bankcards.repository;
+
+import com.bankcards.dto.CardFilter;
+import com.bankcards.entity.Card;
+import com.bankcards.entity.CardStatus;
+import com.bankcards.entity.User;
+import com.bankcards.exception.ValidationException;
+import com.bankcards.util.CardCursor;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Join;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Builds card queries from a {@link CardFilter}, adding a predicate only for the criteria that are present
+ * so the planner sees e.g. {@code user_id = ? AND last_four = ?} and can pick the matching index.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class CardSpecifications {
+    private static final Pattern LAST_FOUR = Pattern.compile("\\d{4}");
+    private static final Pattern DIGITS = Pattern.compile("\\d+");
+    private static final char LIKE_ESCAPE = '\\';
+
+    public static Specification<Card> matching(CardFilter filter) {
+        return Specification.allOf(predicates(filter));
+    }
+
+    public static Specification<Card> forUser(Long userId, CardFilter filter) {
+        List<Specification<Card>> specs = new ArrayList<>();
+        specs.add(ownedById(userId));
+        specs.addAll(predicates(filter));
+        return Specification.allOf(specs);
+    }
+
+    private static List<Specification<Card>> predicates(CardFilter filter) {
+        List<Specification<Card>> specs = new ArrayList<>();
+        if (filter == null) {
+            return specs;
+        }
+        String search = filter.getSearch() == null ? "" : filter.getSearch().strip();
+        if (LAST_FOUR.matcher(search).matches()) {
+            specs.add(lastFourEquals(search));
+        } else if (DIGITS.matcher(search).matches()) {
+            throw new ValidationException("Card number search supports the last four digits only");
+        } else if (!search.isEmpty()) {
+            specs.add(ownerNameStartsWith(search));
+        }
+        if (filter.getStatus() != null) {
+            specs.add(hasStatus(filter.getStatus()));
+        }
+        if (filter.getExpiryFrom() != null) {
+            specs.add(expiresOnOrAfter(filter.getExpiryFrom()));
+        }
+        if (filter.getExpiryTo() != null) {
+            specs.add(expiresOnOrBefore(filter.getExpiryTo()));
+        }
+        if (filter.getBalanceFrom() != null) {
+            specs.add(balanceAtLeast(filter.getBalanceFrom()));
+        }
+        if (filter.getBalanceTo() != null) {
+            specs.add(balanceAtMost(filter.getBalanceTo()));
+        }
+        if (filter.getCreatedFrom() != null) {
+            specs.add(createdOnOrAfter(filter.getCreatedFrom()));
+        }
+        if (filter.getCreatedTo() != null) {
+            specs.add(createdOnOrBefore(filter.getCreatedTo()));
+        }
+        return specs;
+    }
+
+    /**
+     * Keyset predicate for {@link CardCursor#ORDER}. The leading {@code created_at <= ?} bounds the index range;
+     * the disjunction only breaks ties on {@code id} within the same timestamp.
+     */
+    public static Specification<Card> before(CardCursor cursor) {
+        return (card, query, cb) -> cb.and(
+                cb.lessThanOrEqualTo(card.get("createdAt"), cursor.createdAt()),
+                cb.or(cb.lessThan(card.get("createdAt"), cursor.createdAt()),
+                        cb.lessThan(card.get("id"), cursor.id())));
+    }
+
+    public static Specification<Card> ownedById(Long userId) {
+        return (card, query, cb) -> cb.equal(card.get("user").get("id"), userId);
+    }
+
+    public static Specification<Card> hasStatus(CardStatus status) {
+        return (card, query, cb) -> cb.equal(card.get("status"), status);
+    }
+
+    public static Specification<Card> lastFourEquals(String lastFour) {
+        return (card, query, cb) -> cb.equal(card.get("lastFour"), lastFour);
+    }
+
+    public static Specification<Card> ownerNameStartsWith(String name) {
+        String pattern = escapeLike(name.toLowerCase(Locale.ROOT)) + "%";
+        return (card, query, cb) -> {
+            Join<Card, User> user = userJoin(card);
+            return cb.or(
+                    cb.like(cb.lower(user.get("firstName")), pattern, LIKE_ESCAPE),
+                    cb.like(cb.lower(user.get("lastName")), pattern, LIKE_ESCAPE));
+        };
+    }
+
+    public static Specification<Card> expiresOnOrAfter(LocalDate from) {
+        return (card, query, cb) -> cb.greaterThanOrEqualTo(card.get("expiryDate"), from);
+    }
+
+    public static Specification<Card> expiresOnOrBefore(LocalDate to) {
+        return (card, query, cb) -> cb.lessThanOrEqualTo(card.get("expiryDate"), to);
+    }
+
+    public static Specification<Card> balanceAtLeast(BigDecimal from) {
+        return (card, query, cb) -> cb.greaterThanOrEqualTo(card.get("balance"), from);
+    }
+
+    public static Specification<Card> balanceAtMost(BigDecimal to) {
+        return (card, query, cb) -> cb.lessThanOrEqualTo(card.get("balance"), to);
+    }
+
+    public static Specification<Card> createdOnOrAfter(LocalDateTime from) {
+        return (card, query, cb) -> cb.greaterThanOrEqualTo(card.get("createdAt"), from);
+    }
+
+    public static Specification<Card> createdOnOrBefore(LocalDateTime to) {
+        return (card, query, cb) -> cb.lessThanOrEqualTo(card.get("createdAt"), to);
+    }
+
+    /**
+     * Reuses the owner join when the query already selects from it, so name search does not join users twice.
+     */
+    @SuppressWarnings("unchecked")
+    static Join<Card, User> userJoin(From<?, Card> card) {
+        return card.getJoins().stream()
+                .filter(join -> join.getAttribute().getName().equals("user"))
+                .map(join -> (Join<Card, User>) join)
+                .findFirst()
+                .orElseGet(() -> card.join("user"));
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
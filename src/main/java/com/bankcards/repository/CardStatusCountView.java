@@ -0,0 +1,9 @@
+package com.bankcards.repository;
+
+import com.bankcards.entity.CardStatus;
+
+public interface CardStatusCountView {
+    CardStatus getStatus();
+
+    Long getCount();
+}
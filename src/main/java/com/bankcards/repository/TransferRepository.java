@@ -0,0 +1,10 @@
+package com.bankcards.repository;
+
+import com.bankcards.entity.Transfer;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface TransferRepository extends JpaRepository<Transfer, Long> {
+    Optional<Transfer> findByUserIdAndIdempotencyKey(Long userId, String idempotencyKey);
+}
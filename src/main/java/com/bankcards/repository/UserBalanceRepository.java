@@ -0,0 +1,26 @@
+package com.bankcards.repository;
+
+import com.bankcards.entity.UserBalance;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+public interface UserBalanceRepository extends JpaRepository<UserBalance, Long> {
+
+    @Query("SELECT b.totalBalance FROM UserBalance b WHERE b.userId = :userId")
+    Optional<BigDecimal> findTotalBalanceByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("UPDATE UserBalance b SET b.totalBalance = b.totalBalance + :delta WHERE b.userId = :userId")
+    int addToTotalBalance(@Param("userId") Long userId, @Param("delta") BigDecimal delta);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM UserBalance b WHERE b.userId = :userId")
+    Optional<UserBalance> findByUserIdForUpdate(@Param("userId") Long userId);
+}
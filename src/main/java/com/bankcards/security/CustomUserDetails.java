@@ -9,6 +9,14 @@ import java.util.Collection;
 import java.util.stream.Collectors;
 
 public record CustomUserDetails(User user) implements UserDetails {
+    /**
+     * Id of the authenticated user, taken from the token claims or the loaded entity; user-facing card queries
+     * filter on it directly instead of resolving the email.
+     */
+    public Long userId() {
+        return user.getId();
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return user.getRoles().stream()
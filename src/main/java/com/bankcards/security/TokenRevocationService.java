@@ -0,0 +1,91 @@
+package com.bankcards.security;
+
+import com.bankcards.config.JwtProperties;
+import com.bankcards.repository.UserRepository;
+import com.bankcards.security.jwt.TokenClaims;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Rejects access tokens issued before the user's last role change, e-mail change or deletion. The user's
+ * {@code token_version} is bumped in the transaction that makes the change, and a token is trusted only while it
+ * carries the current version, so revocations survive restarts and apply on every instance.
+ * <p>
+ * Versions are cached for {@code jwt.revocation.cache-ttl}. This instance drops its entry after the change commits;
+ * other instances keep accepting the old token until their entry expires.
+ */
+@Component
+public class TokenRevocationService {
+    /**
+     * Cached for deleted users: greater than any version a token can carry.
+     */
+    private static final long DELETED_USER = Long.MAX_VALUE;
+
+    private final UserRepository userRepository;
+    private final AsyncCache<Long, Long> tokenVersions;
+
+    public TokenRevocationService(JwtProperties jwtProperties, UserRepository userRepository) {
+        this.userRepository = userRepository;
+        this.tokenVersions = Caffeine.newBuilder()
+                .expireAfterWrite(jwtProperties.getRevocation().getCacheTtl())
+                .buildAsync();
+    }
+
+    /**
+     * Must run inside the transaction that changes or deletes the user.
+     */
+    public void revokeTokens(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        userRepository.incrementTokenVersion(userId);
+        tokenVersions.synchronous().invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    tokenVersions.synchronous().invalidate(userId);
+                }
+            });
+        }
+    }
+
+    public boolean isRevoked(TokenClaims claims) {
+        if (claims.userId() == null) {
+            return false;
+        }
+        return claims.tokenVersion() < currentVersion(claims.userId());
+    }
+
+    private long currentVersion(Long userId) {
+        CompletableFuture<Long> version = new CompletableFuture<>();
+        CompletableFuture<Long> existing = tokenVersions.asMap().putIfAbsent(userId, version);
+        if (existing != null) {
+            return await(existing);
+        }
+        try {
+            version.complete(userRepository.findTokenVersionById(userId).orElse(DELETED_USER));
+        } catch (RuntimeException e) {
+            version.completeExceptionally(e);
+            throw e;
+        }
+        return version.join();
+    }
+
+    private long await(CompletableFuture<Long> version) {
+        try {
+            return version.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -1,7 +1,14 @@
 package com.bankcards.security.jwt;
 
+import com.bankcards.config.JwtProperties;
+import com.bankcards.config.TracingConfig;
+import com.bankcards.entity.Role;
+import com.bankcards.entity.User;
 import com.bankcards.security.CustomUserDetails;
 import com.bankcards.security.CustomUserDetailsServiceImpl;
+import com.bankcards.security.TokenRevocationService;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -17,22 +24,35 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 
 @Component
 @RequiredArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class JwtFilter extends OncePerRequestFilter {
+    private static final Set<String> KNOWN_ROLES = Arrays.stream(Role.values())
+            .map(Role::name)
+            .collect(Collectors.toUnmodifiableSet());
+
     JwtService jwtService;
+    JwtProperties jwtProperties;
     CustomUserDetailsServiceImpl customUserService;
+    TokenRevocationService tokenRevocationService;
+    ObservationRegistry observationRegistry;
 
     @Override
     protected void doFilterInternal(@NotNull HttpServletRequest request,
                                     @NotNull HttpServletResponse response,
                                     @NotNull FilterChain filterChain) throws ServletException, IOException {
         String token = getTokenFromRequest(request);
-        if (token != null && jwtService.validateJwtToken(token)) {
-            setCustomUserDetailsToSecurityContextHolder(token);
+        if (token != null) {
+            Observation.createNotStarted(TracingConfig.JWT_PARSE, observationRegistry)
+                    .observe(() -> jwtService.parseToken(token))
+                    .filter(claims -> !tokenRevocationService.isRevoked(claims))
+                    .ifPresent(this::setCustomUserDetailsToSecurityContextHolder);
         }
         filterChain.doFilter(request, response);
     }
@@ -45,14 +65,32 @@ public class JwtFilter extends OncePerRequestFilter {
         return null;
     }
 
-    private void setCustomUserDetailsToSecurityContextHolder(String token) {
-        String email = jwtService.getEmailFromToken(token);
-
-        CustomUserDetails customUserDetails = customUserService.loadUserByUsername(email);
+    private void setCustomUserDetailsToSecurityContextHolder(TokenClaims claims) {
+        CustomUserDetails customUserDetails = Observation.createNotStarted(TracingConfig.JWT_USER_LOAD, observationRegistry)
+                .observe(() -> loadUserDetails(claims));
 
         UsernamePasswordAuthenticationToken authentication =
                 new UsernamePasswordAuthenticationToken(customUserDetails, null, customUserDetails.getAuthorities());
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
     }
+
+    private CustomUserDetails loadUserDetails(TokenClaims claims) {
+        if (jwtProperties.getAuthentication().getMode() == JwtProperties.AuthenticationMode.CLAIMS
+                && claims.userId() != null) {
+            return new CustomUserDetails(mapClaimsToUser(claims));
+        }
+        return customUserService.loadUserByUsername(claims.email());
+    }
+
+    private User mapClaimsToUser(TokenClaims claims) {
+        User user = new User();
+        user.setId(claims.userId());
+        user.setEmail(claims.email());
+        user.setRoles(claims.roles().stream()
+                .filter(KNOWN_ROLES::contains)
+                .map(Role::valueOf)
+                .collect(Collectors.toSet()));
+        return user;
+    }
 }
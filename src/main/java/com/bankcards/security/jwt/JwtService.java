@@ -2,14 +2,17 @@ package com.bankcards.security.jwt;
 
 import com.bankcards.config.JwtProperties;
 import com.bankcards.dto.JwtAuthenticationDto;
-import io.jsonwebtoken.Claims;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
-import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -17,54 +20,72 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Component
 @Setter
-@RequiredArgsConstructor
 public class JwtService {
     private static final Logger LOGGER = LoggerFactory.getLogger(JwtService.class);
 
     private final JwtProperties jwtProperties;
+    private final SecretKey signInKey;
+    private final JwtParser jwtParser;
+    private final Cache<String, TokenClaims> verifiedTokens;
 
-    public JwtAuthenticationDto generateAuthToken(String email, Collection<? extends GrantedAuthority> authorities) {
+    public JwtService(JwtProperties jwtProperties) {
+        this.jwtProperties = jwtProperties;
+        this.signInKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtProperties.getSecret()));
+        this.jwtParser = Jwts.parser()
+                .verifyWith(signInKey)
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(jwtProperties.getCache().getMaxSize())
+                .expireAfter(new TokenExpiry())
+                .build();
+    }
+
+    public JwtAuthenticationDto generateAuthToken(Long userId,
+                                                  String email,
+                                                  long tokenVersion,
+                                                  Collection<? extends GrantedAuthority> authorities) {
         JwtAuthenticationDto jwtDto = new JwtAuthenticationDto();
-        jwtDto.setToken(generateJwtToken(email, authorities));
+        jwtDto.setToken(generateJwtToken(userId, email, tokenVersion, authorities));
         jwtDto.setRefreshToken(generateRefreshToken(email));
         return jwtDto;
     }
 
-    public JwtAuthenticationDto refreshBaseToken(String email,
+    public JwtAuthenticationDto refreshBaseToken(Long userId,
+                                                 String email,
+                                                 long tokenVersion,
                                                  String refreshToken,
                                                  Collection<? extends GrantedAuthority> authorities) {
         JwtAuthenticationDto jwtDto = new JwtAuthenticationDto();
-        jwtDto.setToken(generateJwtToken(email, authorities));
+        jwtDto.setToken(generateJwtToken(userId, email, tokenVersion, authorities));
         jwtDto.setRefreshToken(refreshToken);
         return jwtDto;
     }
 
-    public String getEmailFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSingInKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        return claims.getSubject();
-    }
-
-    public boolean validateJwtToken(String token) {
+    /**
+     * Verifies the token once and caches the resulting claims until the token expires,
+     * so repeated requests with the same bearer token skip signature verification.
+     */
+    public Optional<TokenClaims> parseToken(String token) {
+        TokenClaims cached = verifiedTokens.getIfPresent(token);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
         try {
-            Jwts.parser()
-                    .verifyWith(getSingInKey())
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
-            return true;
+            TokenClaims claims = TokenClaims.from(jwtParser.parseSignedClaims(token).getPayload());
+            verifiedTokens.put(token, claims);
+            return Optional.of(claims);
         } catch (ExpiredJwtException e) {
             LOGGER.error("Expired JwtException", e);
         } catch (UnsupportedJwtException e) {
@@ -76,42 +97,70 @@ public class JwtService {
         } catch (Exception e) {
             LOGGER.error("Invalid token", e);
         }
-        return false;
+        return Optional.empty();
     }
 
-    public List<String> getRolesFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSingInKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    public String getEmailFromToken(String token) {
+        return parseToken(token)
+                .map(TokenClaims::email)
+                .orElseThrow(() -> new JwtException("Invalid token"));
+    }
 
-        return claims.get("roles", List.class);
+    public boolean validateJwtToken(String token) {
+        return parseToken(token).isPresent();
+    }
+
+    public List<String> getRolesFromToken(String token) {
+        return parseToken(token)
+                .map(TokenClaims::roles)
+                .orElseThrow(() -> new JwtException("Invalid token"));
     }
 
     private String generateRefreshToken(String email) {
         Date date = Date.from(LocalDateTime.now().plusDays(jwtProperties.getRefresh().getExpiration()).atZone(ZoneId.systemDefault()).toInstant());
         return Jwts.builder()
                 .subject(email)
+                .issuedAt(new Date())
                 .expiration(date)
-                .signWith(getSingInKey())
+                .signWith(signInKey)
                 .compact();
     }
 
-    private String generateJwtToken(String email, Collection<? extends GrantedAuthority> authorities) {
+    private String generateJwtToken(Long userId, String email, long tokenVersion,
+                                    Collection<? extends GrantedAuthority> authorities) {
         Date date = Date.from(LocalDateTime.now().plusMinutes(jwtProperties.getAccess().getExpiration()).atZone(ZoneId.systemDefault()).toInstant());
+        Instant issuedAt = Instant.now();
         return Jwts.builder()
                 .subject(email)
+                .claim("userId", userId)
                 .claim("roles", authorities.stream()
                         .map(GrantedAuthority::getAuthority)
                         .collect(Collectors.toList()))
+                .claim(TokenClaims.TOKEN_VERSION, tokenVersion)
+                .claim(TokenClaims.ISSUED_AT_MILLIS, issuedAt.toEpochMilli())
+                .issuedAt(Date.from(issuedAt))
                 .expiration(date)
-                .signWith(getSingInKey())
+                .signWith(signInKey)
                 .compact();
     }
 
-    private SecretKey getSingInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(jwtProperties.getSecret());
-        return Keys.hmacShaKeyFor(keyBytes);
+    private static class TokenExpiry implements Expiry<String, TokenClaims> {
+        @Override
+        public long expireAfterCreate(String token, TokenClaims claims, long currentTime) {
+            if (claims.expiresAt() == null) {
+                return 0;
+            }
+            return Math.max(0, Duration.between(Instant.now(), claims.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, TokenClaims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(token, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String token, TokenClaims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
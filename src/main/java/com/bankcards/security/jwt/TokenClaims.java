@@ -0,0 +1,34 @@
+package com.bankcards.security.jwt;
+
+import io.jsonwebtoken.Claims;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Verified access token claims. {@code issuedAt} has millisecond precision when the token carries
+ * {@link #ISSUED_AT_MILLIS}; the standard {@code iat} claim only has whole seconds.
+ * {@code tokenVersion} is the user's token version at issue time; tokens without the claim count as version 0.
+ */
+public record TokenClaims(Long userId, String email, List<String> roles, long tokenVersion,
+                          Instant issuedAt, Instant expiresAt) {
+    public static final String ISSUED_AT_MILLIS = "iatMillis";
+    public static final String TOKEN_VERSION = "tokenVersion";
+
+    @SuppressWarnings("unchecked")
+    static TokenClaims from(Claims claims) {
+        Number userId = claims.get("userId", Number.class);
+        List<String> roles = claims.get("roles", List.class);
+        Number issuedAtMillis = claims.get(ISSUED_AT_MILLIS, Number.class);
+        Number tokenVersion = claims.get(TOKEN_VERSION, Number.class);
+        return new TokenClaims(
+                userId != null ? userId.longValue() : null,
+                claims.getSubject(),
+                roles != null ? List.copyOf(roles) : List.of(),
+                tokenVersion != null ? tokenVersion.longValue() : 0L,
+                issuedAtMillis != null ? Instant.ofEpochMilli(issuedAtMillis.longValue())
+                        : claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                claims.getExpiration() != null ? claims.getExpiration().toInstant() : null
+        );
+    }
+}
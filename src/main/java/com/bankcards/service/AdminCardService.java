@@ -1,8 +1,12 @@
 package com.bankcards.service;
 
+import com.bankcards.dto.CardCountsDto;
 import com.bankcards.dto.CardDto;
+import com.bankcards.dto.CardFilter;
+import com.bankcards.dto.CursorPageDto;
 import com.bankcards.entity.CardStatus;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 public interface AdminCardService {
     CardDto createCard(Long userId);
@@ -11,7 +15,13 @@ public interface AdminCardService {
 
     void deleteCard(Long cardId);
 
-    Page<CardDto> getAllCards(int page, int size, CardStatus status);
+    Page<CardDto> getAllCards(int page, int size, CardFilter filter);
+
+    Slice<CardDto> getAllCardsSlice(int page, int size, CardFilter filter);
+
+    CardCountsDto getCardCounts();
+
+    CursorPageDto<CardDto> getAllCardsByCursor(String cursor, int size, CardFilter filter);
 
     Page<CardDto> getCardsByUser(Long userId, int page, int size);
 }
@@ -4,10 +4,14 @@ import com.bankcards.dto.NewUserDto;
 import com.bankcards.dto.UpdateUserDto;
 import com.bankcards.dto.UserDto;
 
+import java.math.BigDecimal;
+
 public interface AdminService {
     UserDto addUser(NewUserDto newUserDto);
 
     void deleteUser(Long userId);
 
     UserDto updateUser(Long userId, UpdateUserDto updateUserDto);
+
+    BigDecimal recountBalance(Long userId);
 }
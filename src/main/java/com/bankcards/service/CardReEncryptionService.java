@@ -0,0 +1,9 @@
+package com.bankcards.service;
+
+import com.bankcards.dto.ReEncryptionStatusDto;
+
+public interface CardReEncryptionService {
+    ReEncryptionStatusDto start();
+
+    ReEncryptionStatusDto getStatus();
+}
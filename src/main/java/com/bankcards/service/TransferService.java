@@ -1,8 +1,13 @@
 package com.bankcards.service;
 
+import com.bankcards.dto.BatchTransferResponse;
 import com.bankcards.dto.TransferRequest;
 import com.bankcards.dto.TransferResponse;
 
+import java.util.List;
+
 public interface TransferService {
-    TransferResponse transferBetweenUserCards(TransferRequest request, String email);
+    TransferResponse transferBetweenUserCards(TransferRequest request, Long userId, String idempotencyKey);
+
+    BatchTransferResponse transferBatch(List<TransferRequest> requests, Long userId);
 }
@@ -1,17 +1,20 @@
 package com.bankcards.service;
 
 import com.bankcards.dto.CardDto;
-import com.bankcards.entity.CardStatus;
+import com.bankcards.dto.CardFilter;
+import com.bankcards.dto.CursorPageDto;
 import org.springframework.data.domain.Page;
 
 import java.math.BigDecimal;
 
 public interface UserCardService {
-    Page<CardDto> getUserCardsByEmail(String email, int page, int size, String search, CardStatus status);
+    Page<CardDto> getUserCards(Long userId, int page, int size, CardFilter filter);
 
-    CardDto getCardForUserByEmail(Long cardId, String email);
+    CursorPageDto<CardDto> getUserCardsByCursor(Long userId, String cursor, int size, CardFilter filter);
 
-    void requestCardBlockByEmail(Long cardId, String email);
+    CardDto getCardForUser(Long cardId, Long userId);
 
-    BigDecimal getBalanceForUserByEmail(String email);
+    void requestCardBlock(Long cardId, Long userId);
+
+    BigDecimal getBalanceForUser(Long userId);
 }
@@ -3,29 +3,41 @@ package com.bankcards.service.impl;
 import com.bankcards.exception.ValidationException;
 import com.bankcards.mapper.CardMapper;
 import com.bankcards.repository.UserRepository;
+import com.bankcards.dto.CardCountsDto;
 import com.bankcards.dto.CardDto;
+import com.bankcards.dto.CardFilter;
+import com.bankcards.dto.CursorPageDto;
 import com.bankcards.entity.Card;
 import com.bankcards.entity.CardStatus;
 import com.bankcards.entity.User;
 import com.bankcards.exception.NotFoundException;
+import com.bankcards.repository.CardListView;
 import com.bankcards.repository.CardRepository;
+import com.bankcards.repository.CardSpecifications;
 import com.bankcards.service.AdminCardService;
+import com.bankcards.util.CardCursor;
+import com.bankcards.util.PageSizes;
 import com.bankcards.util.CardGenerator;
+import io.micrometer.observation.annotation.Observed;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 
 @Service
+@Observed(name = "bankcards.service")
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
@@ -34,6 +46,8 @@ public class AdminCardServiceImpl implements AdminCardService {
     UserRepository userRepository;
     CardGenerator cardGenerator;
     CardMapper cardMapper;
+    CardStatusCounter cardStatusCounter;
+    UserBalanceStore userBalanceStore;
 
     @Override
     @PreAuthorize("hasRole('ADMIN')")
@@ -43,8 +57,14 @@ public class AdminCardServiceImpl implements AdminCardService {
                 .orElseThrow(() -> new NotFoundException(String.format("UserId: %s not found", userId)));
 
         Card card = cardGenerator.generateCard(user);
+        while (cardRepository.existsByCardNumber(card.getCardNumber())) {
+            card = cardGenerator.generateCard(user);
+        }
+        validateNotIssued(card);
 
         Card newCard = cardRepository.save(card);
+        cardStatusCounter.cardCreated(newCard.getStatus());
+        userBalanceStore.adjust(user.getId(), newCard.getBalance());
 
         return cardMapper.mapCardToCardDto(newCard);
     }
@@ -58,6 +78,7 @@ public class AdminCardServiceImpl implements AdminCardService {
 
         validateStatusTransition(card.getStatus(), cardStatus);
 
+        cardStatusCounter.statusChanged(card.getStatus(), cardStatus);
         card.setStatus(cardStatus);
 
         Card updatedCard = cardRepository.save(card);
@@ -77,27 +98,57 @@ public class AdminCardServiceImpl implements AdminCardService {
         }
 
         cardRepository.delete(card);
+        cardStatusCounter.cardDeleted(card.getStatus());
+        userBalanceStore.adjust(card.getUser().getId(), card.getBalance().negate());
     }
 
     @Override
     @PreAuthorize("hasRole('ADMIN')")
-    public Page<CardDto> getAllCards(int page, int size, CardStatus status) {
+    public Page<CardDto> getAllCards(int page, int size, CardFilter filter) {
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        Page<Card> cards = cardRepository.findAllWithFilters(status, pageable);
+        Page<CardListView> cards = cardRepository.findListing(CardSpecifications.matching(filter), pageable);
+
+        return cards.map(cardMapper::mapCardListViewToCardDto);
+    }
+
+    @Override
+    @PreAuthorize("hasRole('ADMIN')")
+    public Slice<CardDto> getAllCardsSlice(int page, int size, CardFilter filter) {
+        PageSizes.requireValid(size);
+        Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
+        Slice<CardListView> cards = cardRepository.findListingSlice(CardSpecifications.matching(filter), pageable);
+
+        return cards.map(cardMapper::mapCardListViewToCardDto);
+    }
+
+    @Override
+    @PreAuthorize("hasRole('ADMIN')")
+    public CardCountsDto getCardCounts() {
+        return cardStatusCounter.getCounts();
+    }
+
+    @Override
+    @PreAuthorize("hasRole('ADMIN')")
+    public CursorPageDto<CardDto> getAllCardsByCursor(String cursor, int size, CardFilter filter) {
+        PageSizes.requireValid(size);
+        CardCursor position = CardCursor.decode(cursor);
+        List<CardListView> cards = cardRepository.findListingBefore(
+                CardSpecifications.matching(filter), position, Limit.of(size + 1));
 
-        return cards.map(cardMapper::mapCardToCardDto);
+        return cardMapper.mapCardsToCursorPage(cards, size);
     }
 
     @Override
     @PreAuthorize("hasRole('ADMIN')")
     public Page<CardDto> getCardsByUser(Long userId, int page, int size) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException(String.format("UserId: %s not found", userId)));
+        if (!userRepository.existsById(userId)) {
+            throw new NotFoundException(String.format("UserId: %s not found", userId));
+        }
 
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        Page<Card> cards = cardRepository.findByUser(user, pageable);
+        Page<CardListView> cards = cardRepository.findListing(CardSpecifications.ownedById(userId), pageable);
 
-        return cards.map(cardMapper::mapCardToCardDto);
+        return cards.map(cardMapper::mapCardListViewToCardDto);
     }
 
     private void validateStatusTransition(CardStatus from, CardStatus to) {
@@ -106,4 +157,15 @@ public class AdminCardServiceImpl implements AdminCardService {
             throw new ValidationException("Cannot activate expired card");
         }
     }
+
+    /**
+     * A stored card keeps the number it was issued with: {@code card_number} is not updatable and its hash is only
+     * computed on insert, so saving a new number onto it would leave {@code last_four} out of step with both.
+     */
+    private void validateNotIssued(Card card) {
+        if (card.getId() != null && cardRepository.existsById(card.getId())) {
+            throw new ValidationException(
+                    String.format("Card %s is already issued, its number cannot be changed", card.getId()));
+        }
+    }
 }
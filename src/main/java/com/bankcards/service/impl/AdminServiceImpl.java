@@ -3,7 +3,9 @@ package com.bankcards.service.impl;
 import com.bankcards.dto.NewUserDto;
 import com.bankcards.dto.UpdateUserDto;
 import com.bankcards.dto.UserDto;
+import com.bankcards.repository.CardRepository;
 import com.bankcards.repository.UserRepository;
+import com.bankcards.security.TokenRevocationService;
 import com.bankcards.service.AdminService;
 import com.bankcards.entity.User;
 import com.bankcards.exception.DuplicatedDataException;
@@ -17,6 +19,9 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
@@ -24,6 +29,10 @@ import org.springframework.transaction.annotation.Transactional;
 public class AdminServiceImpl implements AdminService {
     PasswordEncoder passwordEncoder;
     UserRepository userRepository;
+    TokenRevocationService tokenRevocationService;
+    UserBalanceStore userBalanceStore;
+    CardRepository cardRepository;
+    EntityCacheInvalidator entityCacheInvalidator;
 
     @Override
     @PreAuthorize("hasRole('ADMIN')")
@@ -37,6 +46,7 @@ public class AdminServiceImpl implements AdminService {
         user.setPassword(passwordEncoder.encode(newUserDto.getPassword()));
 
         User newUser = userRepository.save(user);
+        userBalanceStore.open(newUser.getId());
         return UserMapper.mapUserToUserDto(newUser);
     }
 
@@ -44,10 +54,15 @@ public class AdminServiceImpl implements AdminService {
     @PreAuthorize("hasRole('ADMIN')")
     @Transactional
     public void deleteUser(Long userId) {
+        List<Long> cardIds = cardRepository.findIdsByUserId(userId);
         userRepository.deleteById(userId);
+        entityCacheInvalidator.evictUser(userId, cardIds);
+        tokenRevocationService.revokeTokens(userId);
     }
 
     @Override
+    @PreAuthorize("hasRole('ADMIN')")
+    @Transactional
     public UserDto updateUser(Long userId, UpdateUserDto updateUserDto) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException("User not found with id: " + userId));
@@ -58,19 +73,36 @@ public class AdminServiceImpl implements AdminService {
         if (updateUserDto.getLastName() != null) {
             user.setLastName(updateUserDto.getLastName());
         }
+        boolean credentialsChanged = false;
         if (updateUserDto.getEmail() != null) {
             if (!user.getEmail().equals(updateUserDto.getEmail()) &&
                     userRepository.existsByEmail(updateUserDto.getEmail())) {
                 throw new DuplicatedDataException("Email already exists: " + updateUserDto.getEmail());
             }
+            credentialsChanged = !user.getEmail().equals(updateUserDto.getEmail());
             user.setEmail(updateUserDto.getEmail());
         }
         if (updateUserDto.getRoles() != null && !updateUserDto.getRoles().isEmpty()) {
+            credentialsChanged |= !updateUserDto.getRoles().equals(user.getRoles());
             user.setRoles(updateUserDto.getRoles());
         }
 
         User updatedUser = userRepository.save(user);
 
+        if (credentialsChanged) {
+            tokenRevocationService.revokeTokens(userId);
+        }
+
         return UserMapper.mapUserToUserDto(updatedUser);
     }
+
+    @Override
+    @PreAuthorize("hasRole('ADMIN')")
+    @Transactional
+    public BigDecimal recountBalance(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new NotFoundException("User not found with id: " + userId);
+        }
+        return userBalanceStore.recount(userId);
+    }
 }
@@ -0,0 +1,192 @@
+package com.bankcards.service.impl;
+
+import com.bankcards.config.EncryptionProperties;
+import com.bankcards.dto.ReEncryptionStatusDto;
+import com.bankcards.dto.ReEncryptionStatusDto.ReEncryptionState;
+import com.bankcards.exception.ValidationException;
+import com.bankcards.service.CardReEncryptionService;
+import com.bankcards.util.EncryptionUtil;
+import jakarta.annotation.PreDestroy;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Rewrites card numbers that are not under the active encryption key.
+ * The table is walked in id order in keyset-paginated chunks; each chunk is re-encrypted by a worker pool and
+ * written back in one short transaction as a batch of compare-and-set UPDATEs, so a row changed in the meantime
+ * is skipped rather than overwritten and no lock outlives its chunk.
+ */
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class CardReEncryptionServiceImpl implements CardReEncryptionService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CardReEncryptionServiceImpl.class);
+
+    JdbcTemplate jdbcTemplate;
+    TransactionTemplate transactionTemplate;
+    EncryptionProperties encryptionProperties;
+    EntityCacheInvalidator entityCacheInvalidator;
+    ExecutorService coordinator = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "card-re-encryption"));
+    AtomicReference<ReEncryptionState> state = new AtomicReference<>(ReEncryptionState.IDLE);
+    AtomicLong totalCards = new AtomicLong();
+    AtomicLong scannedCards = new AtomicLong();
+    AtomicLong reEncryptedCards = new AtomicLong();
+    AtomicLong skippedCards = new AtomicLong();
+    AtomicLong unconfirmedCards = new AtomicLong();
+    AtomicReference<Long> lastCardId = new AtomicReference<>();
+    AtomicReference<LocalDateTime> startedAt = new AtomicReference<>();
+    AtomicReference<LocalDateTime> finishedAt = new AtomicReference<>();
+    AtomicReference<String> error = new AtomicReference<>();
+
+    @Override
+    @PreAuthorize("hasRole('ADMIN')")
+    public ReEncryptionStatusDto start() {
+        ReEncryptionState current = state.get();
+        if (current == ReEncryptionState.RUNNING) {
+            throw new ValidationException("Card re-encryption is already running");
+        }
+        long total = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM cards", Long.class);
+        if (!state.compareAndSet(current, ReEncryptionState.RUNNING)) {
+            throw new ValidationException("Card re-encryption is already running");
+        }
+        totalCards.set(total);
+        scannedCards.set(0);
+        reEncryptedCards.set(0);
+        skippedCards.set(0);
+        unconfirmedCards.set(0);
+        lastCardId.set(null);
+        startedAt.set(LocalDateTime.now());
+        finishedAt.set(null);
+        error.set(null);
+
+        try {
+            coordinator.execute(this::run);
+        } catch (RuntimeException e) {
+            fail(e);
+            finishedAt.set(LocalDateTime.now());
+        }
+        return getStatus();
+    }
+
+    @Override
+    @PreAuthorize("hasRole('ADMIN')")
+    public ReEncryptionStatusDto getStatus() {
+        return new ReEncryptionStatusDto(
+                state.get(),
+                totalCards.get(),
+                scannedCards.get(),
+                reEncryptedCards.get(),
+                skippedCards.get(),
+                unconfirmedCards.get(),
+                lastCardId.get(),
+                startedAt.get(),
+                finishedAt.get(),
+                error.get()
+        );
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        coordinator.shutdownNow();
+    }
+
+    private void run() {
+        EncryptionProperties.ReEncryption settings = encryptionProperties.getReEncryption();
+        ExecutorService workers = Executors.newFixedThreadPool(Math.max(1, settings.getThreads()));
+        try {
+            long afterId = 0;
+            List<StoredCardNumber> chunk;
+            while (!(chunk = loadChunk(afterId, settings.getChunkSize())).isEmpty()) {
+                afterId = chunk.get(chunk.size() - 1).id();
+                List<Object[]> updates = reEncrypt(chunk, workers);
+                int[] counts = write(updates);
+
+                scannedCards.addAndGet(chunk.size());
+                for (int count : counts) {
+                    if (count == Statement.SUCCESS_NO_INFO) {
+                        unconfirmedCards.incrementAndGet();
+                    } else if (count > 0) {
+                        reEncryptedCards.incrementAndGet();
+                    } else {
+                        skippedCards.incrementAndGet();
+                    }
+                }
+                lastCardId.set(afterId);
+                LOGGER.debug("Card re-encryption progress: {}/{} scanned, last id {}",
+                        scannedCards.get(), totalCards.get(), afterId);
+
+                Thread.sleep(settings.getPause().toMillis());
+            }
+            state.set(ReEncryptionState.COMPLETED);
+            LOGGER.info("Card re-encryption completed: {} scanned, {} re-encrypted, {} skipped, {} unconfirmed",
+                    scannedCards.get(), reEncryptedCards.get(), skippedCards.get(), unconfirmedCards.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail(e);
+        } catch (RuntimeException e) {
+            fail(e);
+        } finally {
+            workers.shutdownNow();
+            finishedAt.set(LocalDateTime.now());
+        }
+    }
+
+    private List<StoredCardNumber> loadChunk(long afterId, int chunkSize) {
+        return jdbcTemplate.query("SELECT id, card_number FROM cards WHERE id > ? ORDER BY id LIMIT ?",
+                (rs, rowNum) -> new StoredCardNumber(rs.getLong("id"), rs.getString("card_number")),
+                afterId, chunkSize);
+    }
+
+    private List<Object[]> reEncrypt(List<StoredCardNumber> chunk, ExecutorService workers) {
+        List<CompletableFuture<Object[]>> futures = chunk.stream()
+                .filter(card -> !EncryptionUtil.isCurrent(card.cardNumber()))
+                .map(card -> CompletableFuture.supplyAsync(() -> new Object[]{
+                        EncryptionUtil.encrypt(EncryptionUtil.decrypt(card.cardNumber())),
+                        card.id(),
+                        card.cardNumber()
+                }, workers))
+                .toList();
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+
+    /**
+     * Per-row update counts: 1 rewritten, 0 changed concurrently and skipped, or {@link Statement#SUCCESS_NO_INFO}
+     * when the driver does not report the outcome.
+     */
+    private int[] write(List<Object[]> updates) {
+        if (updates.isEmpty()) {
+            return new int[0];
+        }
+        int[] counts = transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(
+                "UPDATE cards SET card_number = ? WHERE id = ? AND card_number = ?", updates));
+        entityCacheInvalidator.evictCards(updates.stream().map(update -> (Long) update[1]).toList());
+        return counts;
+    }
+
+    private void fail(Exception e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        state.set(ReEncryptionState.FAILED);
+        error.set(cause.getMessage());
+        LOGGER.error("Card re-encryption failed after card id {}", lastCardId.get(), cause);
+    }
+
+    private record StoredCardNumber(Long id, String cardNumber) {
+    }
+}
@@ -0,0 +1,85 @@
+package com.bankcards.service.impl;
+
+import com.bankcards.dto.CardCountsDto;
+import com.bankcards.entity.CardStatus;
+import com.bankcards.repository.CardRepository;
+import com.bankcards.repository.CardStatusCountView;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Per-status card counts kept in memory so the admin dashboard does not scan {@code cards} on every refresh.
+ * Admin card operations adjust the counts after commit; a periodic recount corrects drift from writes made
+ * elsewhere (other instances, direct SQL), so the numbers are approximate between refreshes.
+ */
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class CardStatusCounter {
+    CardRepository cardRepository;
+    Map<CardStatus, AtomicLong> counts = Collections.unmodifiableMap(Arrays.stream(CardStatus.values())
+            .collect(Collectors.toMap(Function.identity(), status -> new AtomicLong(),
+                    (first, second) -> first, () -> new EnumMap<>(CardStatus.class))));
+    AtomicReference<LocalDateTime> refreshedAt = new AtomicReference<>();
+
+    @Scheduled(fixedDelayString = "${cards.counts.refresh-interval:PT5M}")
+    public void refresh() {
+        Map<CardStatus, Long> fresh = cardRepository.countGroupByStatus().stream()
+                .collect(Collectors.toMap(CardStatusCountView::getStatus, CardStatusCountView::getCount));
+        counts.forEach((status, count) -> count.set(fresh.getOrDefault(status, 0L)));
+        refreshedAt.set(LocalDateTime.now());
+    }
+
+    public void cardCreated(CardStatus status) {
+        afterCommit(() -> counts.get(status).incrementAndGet());
+    }
+
+    public void statusChanged(CardStatus from, CardStatus to) {
+        if (from == to) {
+            return;
+        }
+        afterCommit(() -> {
+            counts.get(from).decrementAndGet();
+            counts.get(to).incrementAndGet();
+        });
+    }
+
+    public void cardDeleted(CardStatus status) {
+        afterCommit(() -> counts.get(status).decrementAndGet());
+    }
+
+    public CardCountsDto getCounts() {
+        Map<CardStatus, Long> byStatus = new EnumMap<>(CardStatus.class);
+        counts.forEach((status, count) -> byStatus.put(status, Math.max(0, count.get())));
+        long total = byStatus.values().stream().mapToLong(Long::longValue).sum();
+        return new CardCountsDto(byStatus, total, refreshedAt.get());
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
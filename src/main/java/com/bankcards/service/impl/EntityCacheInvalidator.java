@@ -0,0 +1,60 @@
+package com.bankcards.service.impl;
+
+import com.bankcards.entity.Card;
+import com.bankcards.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Evicts second-level cache entries for rows that may change behind Hibernate's back: the cards of a deleted
+ * user, which the schema declares {@code ON DELETE CASCADE}, and card numbers rewritten over JDBC. Writes through
+ * the session keep the cache current on their own. Eviction runs after the transaction completes so that a
+ * concurrent reader cannot put the old row back before commit.
+ */
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class EntityCacheInvalidator {
+    private static final String USER_ROLES = User.class.getName() + ".roles";
+
+    EntityManagerFactory entityManagerFactory;
+
+    public void evictUser(Long userId, Collection<Long> cardIds) {
+        List<Long> cards = List.copyOf(cardIds);
+        afterCompletion(cache -> {
+            cache.evictEntityData(User.class, userId);
+            cache.evictCollectionData(USER_ROLES, userId);
+            cards.forEach(cardId -> cache.evictEntityData(Card.class, cardId));
+        });
+    }
+
+    public void evictCards(Collection<Long> cardIds) {
+        List<Long> cards = List.copyOf(cardIds);
+        afterCompletion(cache -> cards.forEach(cardId -> cache.evictEntityData(Card.class, cardId)));
+    }
+
+    private void afterCompletion(Consumer<Cache> eviction) {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            eviction.accept(cache);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                eviction.accept(cache);
+            }
+        });
+    }
+}
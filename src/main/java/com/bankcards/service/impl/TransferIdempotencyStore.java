@@ -0,0 +1,54 @@
+package com.bankcards.service.impl;
+
+import com.bankcards.config.TransferProperties;
+import com.bankcards.dto.TransferResponse;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * In-memory front of the idempotency check. The first caller for a key runs the transfer,
+ * concurrent duplicates wait for its result and later replays get the cached response.
+ * Failed transfers are dropped from the cache by Caffeine, so a retry after an error runs again.
+ */
+@Component
+public class TransferIdempotencyStore {
+    private final AsyncCache<String, TransferResponse> transfers;
+
+    public TransferIdempotencyStore(TransferProperties transferProperties) {
+        this.transfers = Caffeine.newBuilder()
+                .maximumSize(transferProperties.getIdempotency().getMaxSize())
+                .expireAfterWrite(transferProperties.getIdempotency().getTtl())
+                .buildAsync();
+    }
+
+    public TransferResponse execute(String key, Supplier<TransferResponse> transfer) {
+        CompletableFuture<TransferResponse> result = new CompletableFuture<>();
+        CompletableFuture<TransferResponse> existing = transfers.asMap().putIfAbsent(key, result);
+        if (existing != null) {
+            return await(existing);
+        }
+        try {
+            result.complete(transfer.get());
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+            throw e;
+        }
+        return result.join();
+    }
+
+    private TransferResponse await(CompletableFuture<TransferResponse> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
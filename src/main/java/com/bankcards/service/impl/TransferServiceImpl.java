@@ -1,40 +1,203 @@
 package com.bankcards.service.impl;
 
+import com.bankcards.config.TransferProperties;
+import com.bankcards.dto.BatchTransferItemResult;
+import com.bankcards.dto.BatchTransferResponse;
 import com.bankcards.dto.TransferRequest;
 import com.bankcards.dto.TransferResponse;
 import com.bankcards.exception.CardNotActiveException;
 import com.bankcards.exception.InsufficientFundsException;
+import com.bankcards.exception.TransferConflictException;
+import com.bankcards.repository.CardBalanceView;
 import com.bankcards.repository.CardRepository;
+import com.bankcards.repository.TransferRepository;
 import com.bankcards.service.TransferService;
 import com.bankcards.entity.Card;
 import com.bankcards.entity.CardStatus;
+import com.bankcards.entity.Transfer;
 import com.bankcards.exception.InvalidTransferAmountException;
 import com.bankcards.exception.NotFoundException;
 import com.bankcards.exception.SameCardTransferException;
+import com.bankcards.exception.ValidationException;
+import io.micrometer.observation.annotation.Observed;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
+@Observed(name = "bankcards.service")
 @RequiredArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class TransferServiceImpl implements TransferService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TransferServiceImpl.class);
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 64;
+
     CardRepository cardRepository;
+    TransferRepository transferRepository;
+    TransferProperties transferProperties;
+    TransferIdempotencyStore transferIdempotencyStore;
+    TransactionTemplate transactionTemplate;
 
     @Override
-    @Transactional
-    public TransferResponse transferBetweenUserCards(TransferRequest request, String email) {
-        Card sourceCard = cardRepository.findByIdAndEmail(request.getSourceCardId(), email)
-                .orElseThrow(() -> new NotFoundException(String.format("Source card not found: %s", request.getSourceCardId())));
+    public TransferResponse transferBetweenUserCards(TransferRequest request, Long userId, String idempotencyKey) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return executeTransfer(request, userId, null);
+        }
+        if (idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            throw new ValidationException(
+                    String.format("Idempotency key must be at most %s characters", MAX_IDEMPOTENCY_KEY_LENGTH));
+        }
+        TransferResponse response = transferIdempotencyStore.execute(userId + ":" + idempotencyKey,
+                () -> findReplay(userId, idempotencyKey)
+                        .orElseGet(() -> executeIdempotentTransfer(request, userId, idempotencyKey)));
+        validateReplay(request, response, idempotencyKey);
+        return response;
+    }
 
-        Card targetCard = cardRepository.findByIdAndEmail(request.getTargetCardId(), email)
-                .orElseThrow(() -> new NotFoundException(String.format("Target card not found: %s", request.getTargetCardId())));
+    @Override
+    public BatchTransferResponse transferBatch(List<TransferRequest> requests, Long userId) {
+        int maxSize = transferProperties.getBatch().getMaxSize();
+        if (requests.size() > maxSize) {
+            throw new ValidationException(String.format("Batch must contain at most %s transfers", maxSize));
+        }
+        List<BatchTransferItemResult> results = transactionTemplate.execute(status -> transferAll(requests, userId));
+        int succeeded = (int) results.stream().filter(BatchTransferItemResult::isSuccess).count();
+        return new BatchTransferResponse(succeeded, results.size() - succeeded, results);
+    }
+
+    /**
+     * Locks every card referenced by the batch with one ordered query and applies the moves in request order
+     * against the loaded balances. Rejected items leave balances untouched; card updates and ledger inserts
+     * of accepted items are flushed together as JDBC batches on commit.
+     */
+    private List<BatchTransferItemResult> transferAll(List<TransferRequest> requests, Long userId) {
+        Set<Long> cardIds = new TreeSet<>();
+        for (TransferRequest request : requests) {
+            cardIds.add(request.getSourceCardId());
+            cardIds.add(request.getTargetCardId());
+        }
+        Map<Long, Card> cards = cardRepository.findAllByIdInAndUserIdForUpdate(cardIds, userId).stream()
+                .collect(Collectors.toMap(Card::getId, Function.identity()));
+        BiFunction<Long, Long, Optional<Card>> lockedCards = (id, ignored) -> Optional.ofNullable(cards.get(id));
+
+        List<BatchTransferItemResult> results = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            TransferRequest request = requests.get(i);
+            try {
+                Card sourceCard = loadSourceCard(request, userId, lockedCards);
+                Card targetCard = loadTargetCard(request, userId, lockedCards);
+                validateTransfer(request, sourceCard, targetCard);
+                applyTransfer(request, sourceCard, targetCard);
+                results.add(new BatchTransferItemResult(i, true, recordTransfer(request, userId, null), null));
+            } catch (NotFoundException | CardNotActiveException | InsufficientFundsException
+                     | InvalidTransferAmountException | SameCardTransferException e) {
+                results.add(new BatchTransferItemResult(i, false, null, e.getMessage()));
+            }
+        }
+        return results;
+    }
+
+    private TransferResponse executeIdempotentTransfer(TransferRequest request, Long userId, String idempotencyKey) {
+        try {
+            return executeTransfer(request, userId, idempotencyKey);
+        } catch (DataIntegrityViolationException e) {
+            // Another instance committed the same key first; its ledger row is the answer.
+            return findReplay(userId, idempotencyKey).orElseThrow(() -> e);
+        }
+    }
+
+    /**
+     * Keys are scoped to the user, as in the in-memory store, so reusing a key with another source card is caught
+     * by {@link #validateReplay} rather than running a second transfer.
+     */
+    private Optional<TransferResponse> findReplay(Long userId, String idempotencyKey) {
+        return transferRepository.findByUserIdAndIdempotencyKey(userId, idempotencyKey)
+                .map(this::mapTransferToResponse);
+    }
+
+    private void validateReplay(TransferRequest request, TransferResponse response, String idempotencyKey) {
+        if (!request.getSourceCardId().equals(response.getSourceCardId())
+                || !request.getTargetCardId().equals(response.getTargetCardId())
+                || request.getAmount().compareTo(response.getAmount()) != 0) {
+            throw new ValidationException(
+                    String.format("Idempotency key %s was already used for a different transfer", idempotencyKey));
+        }
+    }
+
+    private TransferResponse executeTransfer(TransferRequest request, Long userId, String idempotencyKey) {
+        return switch (transferProperties.getLockingMode()) {
+            case PESSIMISTIC -> transactionTemplate.execute(status ->
+                    transfer(request, userId, idempotencyKey, cardRepository::findByIdAndUserIdForUpdate));
+            case OPTIMISTIC -> transferWithRetry(request, userId, idempotencyKey);
+            case ATOMIC_UPDATE -> transactionTemplate.execute(status ->
+                    transferAtomically(request, userId, idempotencyKey));
+        };
+    }
+
+    private TransferResponse transferWithRetry(TransferRequest request, Long userId, String idempotencyKey) {
+        int maxAttempts = Math.max(1, transferProperties.getRetry().getMaxAttempts());
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status ->
+                        transfer(request, userId, idempotencyKey, cardRepository::findByIdAndUserId));
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    throw new TransferConflictException(
+                            String.format("Cards %s and %s are being modified concurrently, try again later",
+                                    request.getSourceCardId(), request.getTargetCardId()), e);
+                }
+                LOGGER.debug("Optimistic lock conflict on transfer {} -> {}, attempt {}",
+                        request.getSourceCardId(), request.getTargetCardId(), attempt);
+                backoff();
+            }
+        }
+    }
 
+    private TransferResponse transfer(TransferRequest request,
+                                      Long userId,
+                                      String idempotencyKey,
+                                      BiFunction<Long, Long, Optional<Card>> cardLoader) {
+        Card sourceCard;
+        Card targetCard;
+        // Cards are always loaded in ascending id order so that two crossing transfers
+        // acquire row locks in the same order and cannot deadlock.
+        if (request.getSourceCardId().compareTo(request.getTargetCardId()) <= 0) {
+            sourceCard = loadSourceCard(request, userId, cardLoader);
+            targetCard = loadTargetCard(request, userId, cardLoader);
+        } else {
+            targetCard = loadTargetCard(request, userId, cardLoader);
+            sourceCard = loadSourceCard(request, userId, cardLoader);
+        }
+
+        validateTransfer(request, sourceCard, targetCard);
+        applyTransfer(request, sourceCard, targetCard);
+
+        cardRepository.save(sourceCard);
+        cardRepository.save(targetCard);
+
+        return recordTransfer(request, userId, idempotencyKey);
+    }
+
+    private void validateTransfer(TransferRequest request, Card sourceCard, Card targetCard) {
         if (sourceCard.getStatus() != CardStatus.ACTIVE
                 || targetCard.getStatus() != CardStatus.ACTIVE) {
             throw new CardNotActiveException("Both cards must be active");
@@ -48,18 +211,107 @@ public class TransferServiceImpl implements TransferService {
         if (sourceCard.getId().equals(targetCard.getId())) {
             throw new SameCardTransferException("Source and target cards must be different");
         }
+    }
 
+    /**
+     * Both cards always belong to the caller, so a transfer leaves the owner's {@code user_balances} total unchanged.
+     */
+    private void applyTransfer(TransferRequest request, Card sourceCard, Card targetCard) {
         sourceCard.setBalance(sourceCard.getBalance().subtract(request.getAmount()));
         targetCard.setBalance(targetCard.getBalance().add(request.getAmount()));
+    }
 
-        cardRepository.save(sourceCard);
-        cardRepository.save(targetCard);
+    /**
+     * Moves money with two conditional UPDATE statements and no entity hydration.
+     * Statements run in ascending card id order for the same deadlock-avoidance reason as the locking path;
+     * the card state is only read back to pick the right error when an UPDATE matches no row.
+     */
+    private TransferResponse transferAtomically(TransferRequest request, Long userId, String idempotencyKey) {
+        if (request.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
+            throw new InvalidTransferAmountException("Transfer amount must be positive");
+        }
+        if (request.getSourceCardId().equals(request.getTargetCardId())) {
+            throw new SameCardTransferException("Source and target cards must be different");
+        }
+
+        if (request.getSourceCardId().compareTo(request.getTargetCardId()) < 0) {
+            debit(request, userId);
+            credit(request, userId);
+        } else {
+            credit(request, userId);
+            debit(request, userId);
+        }
+
+        return recordTransfer(request, userId, idempotencyKey);
+    }
+
+    private void debit(TransferRequest request, Long userId) {
+        if (cardRepository.debitActiveCard(request.getSourceCardId(), userId, request.getAmount()) == 1) {
+            return;
+        }
+        CardBalanceView source = cardRepository.findBalanceByIdAndUserId(request.getSourceCardId(), userId)
+                .orElseThrow(() -> new NotFoundException(String.format("Source card not found: %s", request.getSourceCardId())));
+        if (source.getStatus() != CardStatus.ACTIVE) {
+            throw new CardNotActiveException("Both cards must be active");
+        }
+        throw new InsufficientFundsException(source.getBalance(), request.getAmount());
+    }
 
+    private void credit(TransferRequest request, Long userId) {
+        if (cardRepository.creditActiveCard(request.getTargetCardId(), userId, request.getAmount()) == 1) {
+            return;
+        }
+        cardRepository.findBalanceByIdAndUserId(request.getTargetCardId(), userId)
+                .orElseThrow(() -> new NotFoundException(String.format("Target card not found: %s", request.getTargetCardId())));
+        throw new CardNotActiveException("Both cards must be active");
+    }
+
+    private TransferResponse recordTransfer(TransferRequest request, Long userId, String idempotencyKey) {
+        Transfer transfer = new Transfer();
+        transfer.setSourceCardId(request.getSourceCardId());
+        transfer.setTargetCardId(request.getTargetCardId());
+        transfer.setAmount(request.getAmount());
+        transfer.setUserId(userId);
+        transfer.setIdempotencyKey(idempotencyKey);
+        transfer.setCreatedAt(LocalDateTime.now());
+
+        return mapTransferToResponse(transferRepository.save(transfer));
+    }
+
+    private TransferResponse mapTransferToResponse(Transfer transfer) {
         return new TransferResponse(
-                sourceCard.getId(),
-                targetCard.getId(),
-                request.getAmount(),
-                LocalDateTime.now()
+                transfer.getId(),
+                transfer.getSourceCardId(),
+                transfer.getTargetCardId(),
+                transfer.getAmount(),
+                transfer.getCreatedAt()
         );
     }
+
+    private Card loadSourceCard(TransferRequest request,
+                                Long userId,
+                                BiFunction<Long, Long, Optional<Card>> cardLoader) {
+        return cardLoader.apply(request.getSourceCardId(), userId)
+                .orElseThrow(() -> new NotFoundException(String.format("Source card not found: %s", request.getSourceCardId())));
+    }
+
+    private Card loadTargetCard(TransferRequest request,
+                                Long userId,
+                                BiFunction<Long, Long, Optional<Card>> cardLoader) {
+        return cardLoader.apply(request.getTargetCardId(), userId)
+                .orElseThrow(() -> new NotFoundException(String.format("Target card not found: %s", request.getTargetCardId())));
+    }
+
+    private void backoff() {
+        long backoffMillis = transferProperties.getRetry().getBackoff().toMillis();
+        if (backoffMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(backoffMillis / 2, backoffMillis + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TransferConflictException("Transfer retry interrupted", e);
+        }
+    }
 }
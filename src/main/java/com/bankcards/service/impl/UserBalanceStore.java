@@ -0,0 +1,118 @@
+package com.bankcards.service.impl;
+
+import com.bankcards.config.CardProperties;
+import com.bankcards.entity.UserBalance;
+import com.bankcards.repository.CardRepository;
+import com.bankcards.repository.UserBalanceRepository;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Read-through cache over {@code user_balances}. Changes are applied to the row inside the caller's transaction
+ * and the cached value is dropped after commit, so readers never see a total that was rolled back.
+ * Users without a row (created outside the admin API) fall back to summing their cards.
+ * The database read runs outside the cache's map lock, so a loading virtual thread never pins its carrier;
+ * concurrent readers of the same user wait on the pending future.
+ * An admin recount repairs a total that drifted from the cards (e.g. balances changed directly in the database).
+ */
+@Component
+public class UserBalanceStore {
+    private static final Logger LOGGER = LoggerFactory.getLogger(UserBalanceStore.class);
+
+    private final UserBalanceRepository userBalanceRepository;
+    private final CardRepository cardRepository;
+    private final AsyncCache<Long, BigDecimal> balances;
+
+    public UserBalanceStore(UserBalanceRepository userBalanceRepository,
+                            CardRepository cardRepository,
+                            CardProperties cardProperties) {
+        this.userBalanceRepository = userBalanceRepository;
+        this.cardRepository = cardRepository;
+        this.balances = Caffeine.newBuilder()
+                .maximumSize(cardProperties.getBalance().getCacheMaxSize())
+                .expireAfterWrite(cardProperties.getBalance().getCacheTtl())
+                .buildAsync();
+    }
+
+    public BigDecimal getTotalBalance(Long userId) {
+        CompletableFuture<BigDecimal> balance = new CompletableFuture<>();
+        CompletableFuture<BigDecimal> existing = balances.asMap().putIfAbsent(userId, balance);
+        if (existing != null) {
+            return await(existing);
+        }
+        try {
+            balance.complete(load(userId));
+        } catch (RuntimeException e) {
+            balance.completeExceptionally(e);
+            throw e;
+        }
+        return balance.join();
+    }
+
+    public void open(Long userId) {
+        userBalanceRepository.save(new UserBalance(userId, BigDecimal.ZERO));
+    }
+
+    public void adjust(Long userId, BigDecimal delta) {
+        if (delta == null || delta.signum() == 0) {
+            return;
+        }
+        userBalanceRepository.addToTotalBalance(userId, delta);
+        evictAfterCommit(userId);
+    }
+
+    /**
+     * Resets the user's stored total to the sum of their cards. Must run inside a transaction: the summary row is
+     * locked first, so a concurrent card change either commits before the cards are summed or applies its delta
+     * on top of the recounted total.
+     */
+    public BigDecimal recount(Long userId) {
+        Optional<UserBalance> stored = userBalanceRepository.findByUserIdForUpdate(userId);
+        BigDecimal total = cardRepository.sumBalanceByUserId(userId).orElse(BigDecimal.ZERO);
+        stored.filter(balance -> balance.getTotalBalance().compareTo(total) != 0).ifPresent(balance -> {
+            LOGGER.warn("Recounted total balance of user {}: {} -> {}", userId, balance.getTotalBalance(), total);
+            balance.setTotalBalance(total);
+            evictAfterCommit(userId);
+        });
+        return total;
+    }
+
+    private BigDecimal await(CompletableFuture<BigDecimal> balance) {
+        try {
+            return balance.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private BigDecimal load(Long userId) {
+        return userBalanceRepository.findTotalBalanceByUserId(userId)
+                .or(() -> cardRepository.sumBalanceByUserId(userId))
+                .orElse(BigDecimal.ZERO);
+    }
+
+    private void evictAfterCommit(Long userId) {
+        balances.synchronous().invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    balances.synchronous().invalidate(userId);
+                }
+            });
+        }
+    }
+}
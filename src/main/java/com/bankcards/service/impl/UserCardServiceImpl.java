@@ -3,16 +3,24 @@ package com.bankcards.service.impl;
 import com.bankcards.entity.BlockCardRequest;
 import com.bankcards.repository.BlockedCardRequestRepository;
 import com.bankcards.dto.CardDto;
+import com.bankcards.dto.CardFilter;
+import com.bankcards.dto.CursorPageDto;
 import com.bankcards.entity.Card;
 import com.bankcards.entity.CardStatus;
 import com.bankcards.exception.NotFoundException;
 import com.bankcards.exception.ValidationException;
 import com.bankcards.mapper.CardMapper;
+import com.bankcards.repository.CardListView;
 import com.bankcards.repository.CardRepository;
+import com.bankcards.repository.CardSpecifications;
 import com.bankcards.service.UserCardService;
+import com.bankcards.util.CardCursor;
+import com.bankcards.util.PageSizes;
+import io.micrometer.observation.annotation.Observed;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -21,8 +29,10 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 @Service
+@Observed(name = "bankcards.service")
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
@@ -30,26 +40,37 @@ public class UserCardServiceImpl implements UserCardService {
     CardRepository cardRepository;
     CardMapper cardMapper;
     BlockedCardRequestRepository blockedCardRequestRepository;
+    UserBalanceStore userBalanceStore;
 
     @Override
-    public Page<CardDto> getUserCardsByEmail(String email, int page, int size, String search, CardStatus status) {
+    public Page<CardDto> getUserCards(Long userId, int page, int size, CardFilter filter) {
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        Page<Card> cards = cardRepository.findByUserWithFilters(email, status, pageable);
+        Page<CardListView> cards = cardRepository.findListing(CardSpecifications.forUser(userId, filter), pageable);
 
-        return cards.map(cardMapper::mapCardToCardDto);
+        return cards.map(cardMapper::mapCardListViewToCardDto);
     }
 
     @Override
-    public CardDto getCardForUserByEmail(Long cardId, String email) {
-        Card card = cardRepository.findByIdAndEmail(cardId, email)
+    public CursorPageDto<CardDto> getUserCardsByCursor(Long userId, String cursor, int size, CardFilter filter) {
+        PageSizes.requireValid(size);
+        CardCursor position = CardCursor.decode(cursor);
+        List<CardListView> cards = cardRepository.findListingBefore(
+                CardSpecifications.forUser(userId, filter), position, Limit.of(size + 1));
+
+        return cardMapper.mapCardsToCursorPage(cards, size);
+    }
+
+    @Override
+    public CardDto getCardForUser(Long cardId, Long userId) {
+        Card card = cardRepository.findByIdAndUserId(cardId, userId)
                 .orElseThrow(() -> new NotFoundException(String.format("CardId: %s not found", cardId)));
 
         return cardMapper.mapCardToCardDto(card);
     }
 
     @Override
-    public void requestCardBlockByEmail(Long cardId, String email) {
-        Card card = cardRepository.findByIdAndEmail(cardId, email)
+    public void requestCardBlock(Long cardId, Long userId) {
+        Card card = cardRepository.findByIdAndUserId(cardId, userId)
                 .orElseThrow(() -> new NotFoundException(String.format("CardId: %s not found", cardId)));
 
         if (card.getStatus() != CardStatus.ACTIVE) {
@@ -67,8 +88,7 @@ public class UserCardServiceImpl implements UserCardService {
     }
 
     @Override
-    public BigDecimal getBalanceForUserByEmail(String email) {
-        return cardRepository.getBalanceByEmail(email)
-                .orElse(BigDecimal.ZERO);
+    public BigDecimal getBalanceForUser(Long userId) {
+        return userBalanceStore.getTotalBalance(userId);
     }
 }
@@ -9,6 +9,7 @@ import com.bankcards.security.CustomUserDetails;
 import com.bankcards.security.CustomUserDetailsServiceImpl;
 import com.bankcards.security.jwt.JwtService;
 import com.bankcards.service.UserService;
+import io.micrometer.observation.annotation.Observed;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
@@ -24,6 +25,7 @@ import java.util.Collection;
 import java.util.Optional;
 
 @Service
+@Observed(name = "bankcards.service")
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
@@ -40,7 +42,7 @@ public class UserServiceImpl implements UserService {
         CustomUserDetails userDetails = new CustomUserDetails(user);
         Collection<? extends GrantedAuthority> authorities = userDetails.getAuthorities();
 
-        return jwtService.generateAuthToken(user.getEmail(), authorities);
+        return jwtService.generateAuthToken(user.getId(), user.getEmail(), user.getTokenVersion(), authorities);
     }
 
     @Override
@@ -49,7 +51,9 @@ public class UserServiceImpl implements UserService {
         if (refreshToken != null && jwtService.validateJwtToken(refreshToken)) {
             String email = jwtService.getEmailFromToken(refreshToken);
             CustomUserDetails userDetails = userDetailsService.loadUserByUsername(email);
-            return jwtService.refreshBaseToken(email, refreshToken, userDetails.getAuthorities());
+            User user = userDetails.user();
+            return jwtService.refreshBaseToken(user.getId(), email, user.getTokenVersion(), refreshToken,
+                    userDetails.getAuthorities());
         }
         throw new AccessDeniedException("Invalid refresh token");
     }
@@ -0,0 +1,56 @@
+package com.bankcards.util;
+
+import com.bankcards.config.EncryptionProperties;
+import com.bankcards.exception.EncryptionException;
+import com.bankcards.util.cipher.InstancePool;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.HexFormat;
+
+/**
+ * Keyed HMAC-SHA256 "blind index" of a card number: deterministic, so it can back a unique index and
+ * equality lookups, while revealing nothing about the number without the index key.
+ * Keyed {@link Mac} instances are pooled, so hashing on virtual threads does not re-create and re-key one per call.
+ */
+@Component
+public class BlindIndexUtil {
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private static SecretKeySpec key;
+    private static InstancePool<Mac> macs;
+
+    @Autowired
+    private EncryptionProperties encryptionProperties;
+
+    @PostConstruct
+    public void init() {
+        key = new SecretKeySpec(
+                encryptionProperties.getSecret().getBlindIndexKey().getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        macs = new InstancePool<>(BlindIndexUtil::newMac);
+    }
+
+    public static String hash(String cardNumber) {
+        if (cardNumber == null) return null;
+        String normalized = cardNumber.replaceAll("[\\s-]", "");
+        Mac instance = macs.acquire();
+        byte[] digest = instance.doFinal(normalized.getBytes(StandardCharsets.UTF_8));
+        macs.release(instance);
+        return HexFormat.of().formatHex(digest);
+    }
+
+    private static Mac newMac() {
+        try {
+            Mac instance = Mac.getInstance(ALGORITHM);
+            instance.init(key);
+            return instance;
+        } catch (GeneralSecurityException e) {
+            throw new EncryptionException("Blind index initialization failed", e);
+        }
+    }
+}
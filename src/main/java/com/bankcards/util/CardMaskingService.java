@@ -5,7 +5,10 @@ import org.springframework.stereotype.Component;
 @Component
 public class CardMaskingService {
     public String maskCardNumber(String cardNumber) {
-        String lastFour = cardNumber.substring(cardNumber.length() - 4);
+        return maskLastFour(cardNumber.substring(cardNumber.length() - 4));
+    }
+
+    public String maskLastFour(String lastFour) {
         return "**** **** **** " + lastFour;
     }
 }
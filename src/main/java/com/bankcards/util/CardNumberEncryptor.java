@@ -1,27 +0,0 @@
-package com.bankcards.util;
-
-import jakarta.persistence.AttributeConverter;
-import jakarta.persistence.Converter;
-
-@Converter
-public class CardNumberEncryptor implements AttributeConverter<String, String> {
-    @Override
-    public String convertToDatabaseColumn(String attribute) {
-        if (attribute == null) return null;
-        try {
-            return EncryptionUtil.encrypt(attribute);
-        } catch (Exception e) {
-            throw new RuntimeException("Error encrypting card number", e);
-        }
-    }
-
-    @Override
-    public String convertToEntityAttribute(String dbData) {
-        if (dbData == null) return null;
-        try {
-            return EncryptionUtil.decrypt(dbData);
-        } catch (Exception e) {
-            throw new RuntimeException("Error decrypting card number", e);
-        }
-    }
-}
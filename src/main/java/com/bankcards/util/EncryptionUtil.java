@@ -1,40 +1,97 @@
 package com.bankcards.util;
 
 import com.bankcards.config.EncryptionProperties;
+import com.bankcards.config.TracingConfig;
 import com.bankcards.exception.EncryptionException;
+import com.bankcards.util.cipher.AesGcmCipherEngine;
+import com.bankcards.util.cipher.CipherEngine;
+import com.bankcards.util.cipher.TextEncryptorCipherEngine;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.encrypt.Encryptors;
-import org.springframework.security.crypto.encrypt.TextEncryptor;
 import org.springframework.stereotype.Component;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
 @Component
 public class EncryptionUtil {
-    private static TextEncryptor textEncryptor;
+    private static CipherEngine writeEngine;
+    private static AesGcmCipherEngine aesGcmEngine;
+    private static Map<String, AesGcmCipherEngine> keyRing;
+    private static CipherEngine textEngine;
+    private static ObservationRegistry observationRegistry = ObservationRegistry.NOOP;
 
     @Autowired
     private EncryptionProperties encryptionProperties;
 
+    @Autowired
+    private ObjectProvider<ObservationRegistry> observationRegistryProvider;
+
     @PostConstruct
     public void init() {
-        textEncryptor = Encryptors.text(encryptionProperties.getKey(), "deadbeef");
+        EncryptionProperties.Secret secret = encryptionProperties.getSecret();
+        String legacyKey = secret.getLegacyKey() != null ? secret.getLegacyKey() : secret.getKey();
+        textEngine = new TextEncryptorCipherEngine(Encryptors.text(legacyKey, "deadbeef"));
+        Map<String, String> secrets = new LinkedHashMap<>(secret.getKeys());
+        secrets.putIfAbsent(secret.getKeyId(), secret.getKey());
+        keyRing = secrets.entrySet().stream().collect(Collectors.toUnmodifiableMap(Map.Entry::getKey,
+                entry -> new AesGcmCipherEngine(entry.getKey(), AesGcmCipherEngine.deriveKey(entry.getValue(), entry.getKey()))));
+        aesGcmEngine = keyRing.get(secret.getKeyId());
+        writeEngine = encryptionProperties.getEngine() == EncryptionProperties.Engine.AES_GCM ? aesGcmEngine : textEngine;
+        observationRegistry = observationRegistryProvider.getIfAvailable(() -> ObservationRegistry.NOOP);
     }
 
     public static String encrypt(String data) {
         if (data == null) return null;
         try {
-            return textEncryptor.encrypt(data);
+            return writeEngine.encrypt(data);
+        } catch (EncryptionException e) {
+            throw e;
         } catch (Exception e) {
             throw new EncryptionException("Encryption failed", e);
         }
     }
 
+    /**
+     * Values carrying a key-id prefix are AES-GCM and are decrypted with that key from the ring;
+     * anything else is the legacy hex format of {@code Encryptors.text}.
+     */
     public static String decrypt(String encryptedData) {
         if (encryptedData == null) return null;
+        return Observation.createNotStarted(TracingConfig.CRYPTO_DECRYPT, observationRegistry)
+                .observe(() -> decryptWithKeyRing(encryptedData));
+    }
+
+    private static String decryptWithKeyRing(String encryptedData) {
         try {
-            return textEncryptor.decrypt(encryptedData);
+            if (AesGcmCipherEngine.supports(encryptedData)) {
+                String keyId = AesGcmCipherEngine.keyIdOf(encryptedData);
+                AesGcmCipherEngine engine = keyRing.get(keyId);
+                if (engine == null) {
+                    throw new EncryptionException("Unknown encryption key id: " + keyId, null);
+                }
+                return engine.decrypt(encryptedData);
+            }
+            return textEngine.decrypt(encryptedData);
+        } catch (EncryptionException e) {
+            throw e;
         } catch (Exception e) {
             throw new EncryptionException("Decryption failed", e);
         }
     }
+
+    /**
+     * Whether a stored value is already in the format and under the key that {@link #encrypt} currently produces.
+     */
+    public static boolean isCurrent(String encryptedData) {
+        if (writeEngine == aesGcmEngine) {
+            return aesGcmEngine.getKeyId().equals(AesGcmCipherEngine.keyIdOf(encryptedData));
+        }
+        return !AesGcmCipherEngine.supports(encryptedData);
+    }
 }
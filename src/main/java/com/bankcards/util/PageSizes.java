@@ -0,0 +1,20 @@
+package com.bankcards.util;
+
+import com.bankcards.exception.ValidationException;
+
+/**
+ * Bounds for client-supplied sizes of cursor and slice listings, which fetch {@code size + 1} rows.
+ */
+public final class PageSizes {
+    public static final int MAX = 100;
+
+    private PageSizes() {
+    }
+
+    public static int requireValid(int size) {
+        if (size < 1 || size > MAX) {
+            throw new ValidationException("Page size must be between 1 and " + MAX);
+        }
+        return size;
+    }
+}
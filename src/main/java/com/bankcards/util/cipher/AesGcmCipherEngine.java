@@ -0,0 +1,116 @@
+package com.bankcards.util.cipher;
+
+import com.bankcards.exception.EncryptionException;
+
+import javax.crypto.Cipher;
+import javax.crypto.NoSuchPaddingException;
+import javax.crypto.SecretKey;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.PBEKeySpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * AES-256-GCM with a random 96-bit IV per value. Output is {@code <keyId>:<Base64(iv || ciphertext || tag)>},
+ * so the key that wrote a value can be identified after rotation. {@link Cipher} instances are borrowed from a shared
+ * {@link InstancePool} rather than a thread-local, so request handling on virtual threads reuses them too.
+ */
+public class AesGcmCipherEngine implements CipherEngine {
+    private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_LENGTH_BITS = 128;
+    private static final int KEY_DERIVATION_ITERATIONS = 65_536;
+    private static final char KEY_ID_SEPARATOR = ':';
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final InstancePool<Cipher> CIPHERS = new InstancePool<>(AesGcmCipherEngine::newCipher);
+
+    private final String keyId;
+    private final SecretKey key;
+
+    public AesGcmCipherEngine(String keyId, SecretKey key) {
+        if (keyId == null || keyId.isEmpty() || keyId.indexOf(KEY_ID_SEPARATOR) >= 0) {
+            throw new IllegalArgumentException("Key id must be non-empty and must not contain ':'");
+        }
+        this.keyId = keyId;
+        this.key = key;
+    }
+
+    /**
+     * Derives an AES-256 key from a configured secret with PBKDF2, salted with the key id.
+     */
+    public static SecretKey deriveKey(String secret, String keyId) {
+        try {
+            PBEKeySpec spec = new PBEKeySpec(secret.toCharArray(), keyId.getBytes(StandardCharsets.UTF_8),
+                    KEY_DERIVATION_ITERATIONS, 256);
+            byte[] encoded = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256").generateSecret(spec).getEncoded();
+            return new SecretKeySpec(encoded, "AES");
+        } catch (GeneralSecurityException e) {
+            throw new EncryptionException("Key derivation failed", e);
+        }
+    }
+
+    public static boolean supports(String ciphertext) {
+        return ciphertext.indexOf(KEY_ID_SEPARATOR) > 0;
+    }
+
+    public static String keyIdOf(String ciphertext) {
+        int separator = ciphertext.indexOf(KEY_ID_SEPARATOR);
+        return separator > 0 ? ciphertext.substring(0, separator) : null;
+    }
+
+    public String getKeyId() {
+        return keyId;
+    }
+
+    @Override
+    public String encrypt(String plaintext) {
+        byte[] iv = new byte[IV_LENGTH];
+        RANDOM.nextBytes(iv);
+        try {
+            Cipher cipher = CIPHERS.acquire();
+            cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_LENGTH_BITS, iv));
+            byte[] input = plaintext.getBytes(StandardCharsets.UTF_8);
+            ByteBuffer output = ByteBuffer.allocate(IV_LENGTH + cipher.getOutputSize(input.length));
+            output.put(iv);
+            cipher.doFinal(ByteBuffer.wrap(input), output);
+            CIPHERS.release(cipher);
+            return keyId + KEY_ID_SEPARATOR + Base64.getEncoder().encodeToString(output.array());
+        } catch (GeneralSecurityException e) {
+            throw new EncryptionException("Encryption failed", e);
+        }
+    }
+
+    @Override
+    public String decrypt(String ciphertext) {
+        if (!keyId.equals(keyIdOf(ciphertext))) {
+            throw new EncryptionException("Value was not encrypted with key " + keyId, null);
+        }
+        byte[] payload = Base64.getDecoder().decode(ciphertext.substring(keyId.length() + 1));
+        if (payload.length < IV_LENGTH) {
+            throw new EncryptionException("Ciphertext is too short", null);
+        }
+        try {
+            Cipher cipher = CIPHERS.acquire();
+            cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_LENGTH_BITS, payload, 0, IV_LENGTH));
+            byte[] plaintext = cipher.doFinal(payload, IV_LENGTH, payload.length - IV_LENGTH);
+            CIPHERS.release(cipher);
+            return new String(plaintext, StandardCharsets.UTF_8);
+        } catch (GeneralSecurityException e) {
+            throw new EncryptionException("Decryption failed", e);
+        }
+    }
+
+    private static Cipher newCipher() {
+        try {
+            return Cipher.getInstance(TRANSFORMATION);
+        } catch (NoSuchAlgorithmException | NoSuchPaddingException e) {
+            throw new EncryptionException("AES-GCM is not available", e);
+        }
+    }
+}
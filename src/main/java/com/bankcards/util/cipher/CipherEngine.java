@@ -0,0 +1,7 @@
+package com.bankcards.util.cipher;
+
+public interface CipherEngine {
+    String encrypt(String plaintext);
+
+    String decrypt(String ciphertext);
+}
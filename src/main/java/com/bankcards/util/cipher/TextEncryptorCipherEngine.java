@@ -0,0 +1,25 @@
+package com.bankcards.util.cipher;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.security.crypto.encrypt.TextEncryptor;
+
+/**
+ * Hex-encoded AES-CBC values produced by {@code Encryptors.text}; kept to read cards written before AES-GCM.
+ */
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class TextEncryptorCipherEngine implements CipherEngine {
+    TextEncryptor textEncryptor;
+
+    @Override
+    public String encrypt(String plaintext) {
+        return textEncryptor.encrypt(plaintext);
+    }
+
+    @Override
+    public String decrypt(String ciphertext) {
+        return textEncryptor.decrypt(ciphertext);
+    }
+}
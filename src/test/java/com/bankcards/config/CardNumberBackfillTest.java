@@ -0,0 +1,104 @@
+package com.bankcards.config;
+
+import com.bankcards.entity.Card;
+import com.bankcards.entity.Role;
+import com.bankcards.entity.User;
+import com.bankcards.repository.CardRepository;
+import com.bankcards.repository.UserRepository;
+import com.bankcards.util.BlindIndexUtil;
+import com.bankcards.util.CardGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CardNumberBackfillTest {
+    @Autowired
+    private CardNumberBackfill cardNumberBackfill;
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CardGenerator cardGenerator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setFirstName("Blind");
+        user.setLastName("Index");
+        user.setEmail(UUID.randomUUID() + "@test.test");
+        user.setPassword("password");
+        user.setRoles(Set.of(Role.ROLE_USER));
+        user = userRepository.save(user);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM cards WHERE user_id = ?", user.getId());
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    void save_ComputesHash_AndLookupByNumberFindsCard() {
+        Card card = cardRepository.save(cardGenerator.generateCard(user));
+
+        assertEquals(BlindIndexUtil.hash(card.getCardNumber()), card.getCardNumberHash());
+        assertEquals(card.getId(), cardRepository.findByCardNumber(card.getCardNumber()).orElseThrow().getId());
+        assertTrue(cardRepository.existsByCardNumber(card.getCardNumber()));
+    }
+
+    @Test
+    void findById_ReadsLastFourWithoutDecrypting() {
+        Card saved = cardRepository.save(cardGenerator.generateCard(user));
+
+        Card loaded = cardRepository.findById(saved.getId()).orElseThrow();
+
+        assertEquals(saved.getCardNumber().substring(12), loaded.getLastFour());
+        assertNull(ReflectionTestUtils.getField(loaded, "cardNumber"));
+        assertEquals(saved.getCardNumber(), loaded.getCardNumber());
+    }
+
+    @Test
+    void save_DuplicateNumber_ViolatesUniqueIndex() {
+        Card card = cardRepository.save(cardGenerator.generateCard(user));
+        Card duplicate = cardGenerator.generateCard(user);
+        duplicate.setCardNumber(card.getCardNumber());
+
+        assertThrows(DataIntegrityViolationException.class, () -> cardRepository.save(duplicate));
+    }
+
+    @Test
+    void run_CardsWithoutDerivedColumns_AreBackfilled() {
+        Card card = cardRepository.save(cardGenerator.generateCard(user));
+        jdbcTemplate.update("UPDATE cards SET card_number_hash = NULL, last_four = NULL WHERE id = ?", card.getId());
+
+        cardNumberBackfill.run(null);
+
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT card_number_hash, last_four FROM cards WHERE id = ?", card.getId());
+        assertEquals(BlindIndexUtil.hash(card.getCardNumber()), row.get("card_number_hash"));
+        assertEquals(card.getCardNumber().substring(12), row.get("last_four"));
+    }
+}
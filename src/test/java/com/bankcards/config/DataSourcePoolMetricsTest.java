@@ -0,0 +1,87 @@
+package com.bankcards.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.metrics.MetricsEndpoint;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:bankcards-pool;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+        "spring.datasource.hikari.pool-name=bankcards-exhaustion",
+        "spring.datasource.hikari.maximum-pool-size=3",
+        "spring.datasource.hikari.minimum-idle=3",
+        "spring.datasource.hikari.connection-timeout=3000"
+})
+@ActiveProfiles("test")
+class DataSourcePoolMetricsTest {
+    private static final String POOL = "bankcards-exhaustion";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MetricsEndpoint metricsEndpoint;
+
+    @Test
+    void exhaustedPool_ReportsActivePendingAndTimeouts() throws Exception {
+        List<Connection> held = new ArrayList<>();
+        try {
+            for (int i = 0; i < 3; i++) {
+                held.add(dataSource.getConnection());
+            }
+            double timeoutsBefore = metric("hikaricp.connections.timeout");
+            CompletableFuture<Connection> waiter = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return dataSource.getConnection();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+
+            awaitMetric("hikaricp.connections.pending", 1);
+            awaitMetric("hikaricp.connections.active", 3);
+            awaitMetric("hikaricp.connections.idle", 0);
+            assertEquals(3, metric("hikaricp.connections.max"));
+
+            Exception failure = assertThrows(Exception.class, () -> waiter.get(10, TimeUnit.SECONDS));
+            assertInstanceOf(SQLTransientConnectionException.class, failure.getCause().getCause());
+            assertEquals(timeoutsBefore + 1, metric("hikaricp.connections.timeout"));
+            awaitMetric("hikaricp.connections.pending", 0);
+        } finally {
+            for (Connection connection : held) {
+                connection.close();
+            }
+        }
+
+        awaitMetric("hikaricp.connections.active", 0);
+        assertTrue(metric("hikaricp.connections.acquire") >= 3);
+    }
+
+    private double metric(String name) {
+        MetricsEndpoint.MetricDescriptor descriptor = metricsEndpoint.metric(name, List.of("pool:" + POOL));
+        assertNotNull(descriptor, name);
+        return descriptor.getMeasurements().get(0).getValue();
+    }
+
+    /**
+     * Pool gauges are read from Hikari's pool statistics, which are refreshed at most once per second.
+     */
+    private void awaitMetric(String name, double expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (metric(name) != expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, metric(name), name);
+    }
+}
@@ -0,0 +1,123 @@
+package com.bankcards.config;
+
+import com.bankcards.entity.Card;
+import com.bankcards.entity.Role;
+import com.bankcards.entity.User;
+import com.bankcards.repository.CardRepository;
+import com.bankcards.repository.UserRepository;
+import com.bankcards.security.CustomUserDetails;
+import com.bankcards.util.CardGenerator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties =
+        "spring.datasource.url=jdbc:h2:mem:bankcards-metrics;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+class MetricsConfigTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired
+    private CardGenerator cardGenerator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User owner;
+    private Card card;
+
+    @BeforeEach
+    void setUp() {
+        owner = new User();
+        owner.setFirstName("Metered");
+        owner.setLastName("Owner");
+        owner.setEmail(UUID.randomUUID() + "@test.test");
+        owner.setPassword("password");
+        owner.setRoles(Set.of(Role.ROLE_USER, Role.ROLE_ADMIN));
+        owner = userRepository.save(owner);
+
+        Card generated = cardGenerator.generateCard(owner);
+        generated.setBalance(BigDecimal.ZERO);
+        card = cardRepository.save(generated);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM cards WHERE user_id = ?", owner.getId());
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", owner.getId());
+    }
+
+    @Test
+    void getUserCard_RecordsEndpointServiceAndRepositoryTimers() throws Exception {
+        mockMvc.perform(get("/api/user/cards/{cardId}", card.getId()).with(user(new CustomUserDetails(owner))))
+                .andExpect(status().isOk());
+
+        assertTrue(meterRegistry.get("http.server.requests")
+                .tag("uri", "/api/user/cards/{cardId}").tag("status", "200").timer().count() >= 1);
+        assertTrue(meterRegistry.get("bankcards.service")
+                .tag("class", "com.bankcards.service.impl.UserCardServiceImpl").tag("method", "getCardForUser")
+                .timer().count() >= 1);
+        assertTrue(meterRegistry.get("spring.data.repository.invocations")
+                .tag("repository", "CardRepository").tag("method", "findByIdAndUserId")
+                .timer().count() >= 1);
+    }
+
+    @Test
+    void getUserCard_NotFound_CountsDomainException() throws Exception {
+        double before = exceptionCount("NotFoundException");
+
+        mockMvc.perform(get("/api/user/cards/{cardId}", Long.MAX_VALUE).with(user(new CustomUserDetails(owner))))
+                .andExpect(status().isNotFound());
+
+        assertEquals(before + 1, exceptionCount("NotFoundException"));
+    }
+
+    @Test
+    void prometheusEndpoint_ExposesLatencyHistograms() throws Exception {
+        mockMvc.perform(get("/api/user/cards/{cardId}", card.getId()).with(user(new CustomUserDetails(owner))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus").with(user(new CustomUserDetails(owner))))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("bankcards_service_seconds_bucket{")))
+                .andExpect(content().string(containsString("spring_data_repository_invocations_seconds_bucket{")))
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket{")));
+    }
+
+    private double exceptionCount(String exception) {
+        Counter counter = meterRegistry.find("bankcards.exceptions").tag("exception", exception).counter();
+        return counter == null ? 0 : counter.count();
+    }
+}
@@ -0,0 +1,171 @@
+package com.bankcards.config;
+
+import com.bankcards.entity.Card;
+import com.bankcards.entity.Role;
+import com.bankcards.entity.User;
+import com.bankcards.repository.CardRepository;
+import com.bankcards.repository.UserRepository;
+import com.bankcards.security.CustomUserDetails;
+import com.bankcards.security.jwt.JwtService;
+import com.bankcards.service.impl.EntityCacheInvalidator;
+import com.bankcards.util.CardGenerator;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties =
+        "spring.datasource.url=jdbc:h2:mem:bankcards-tracing;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+class TracingConfigTest {
+    @TestConfiguration
+    static class InMemoryExporterConfig {
+        @Bean
+        InMemorySpanExporter inMemorySpanExporter() {
+            return InMemorySpanExporter.create();
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private InMemorySpanExporter spanExporter;
+
+    @Autowired
+    private SdkTracerProvider tracerProvider;
+
+    @Autowired
+    private TracingSampler tracingSampler;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired
+    private CardGenerator cardGenerator;
+
+    @Autowired
+    private EntityCacheInvalidator entityCacheInvalidator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User owner;
+    private Card card;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        owner = new User();
+        owner.setFirstName("Traced");
+        owner.setLastName("Owner");
+        owner.setEmail(UUID.randomUUID() + "@test.test");
+        owner.setPassword("password");
+        owner.setRoles(Set.of(Role.ROLE_USER, Role.ROLE_ADMIN));
+        owner = userRepository.save(owner);
+
+        Card generated = cardGenerator.generateCard(owner);
+        generated.setBalance(BigDecimal.ZERO);
+        card = cardRepository.save(generated);
+        // Rows without last_four are masked from the decrypted number, which puts a decrypt call on the request path.
+        jdbcTemplate.update("UPDATE cards SET last_four = NULL WHERE id = ?", card.getId());
+        entityCacheInvalidator.evictCards(List.of(card.getId()));
+
+        token = jwtService.generateAuthToken(owner.getId(), owner.getEmail(), owner.getTokenVersion(),
+                new CustomUserDetails(owner).getAuthorities()).getToken();
+        tracingSampler.update(false, 1.0);
+        spanExporter.reset();
+    }
+
+    @AfterEach
+    void tearDown() {
+        tracingSampler.update(false, 1.0);
+        jdbcTemplate.update("DELETE FROM cards WHERE user_id = ?", owner.getId());
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", owner.getId());
+    }
+
+    @Test
+    void tracingDisabled_RequestExportsNoSpans() throws Exception {
+        getCard();
+
+        assertTrue(finishedSpans().isEmpty());
+    }
+
+    @Test
+    void tracingEnabledAtRuntime_RequestIsBrokenIntoJwtServiceCryptoAndJdbcSpans() throws Exception {
+        mockMvc.perform(post("/actuator/tracing")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"enabled\": true}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.enabled").value(true));
+        spanExporter.reset();
+
+        getCard();
+
+        List<SpanData> spans = finishedSpans();
+        List<String> names = spans.stream().map(SpanData::getName).toList();
+        assertTrue(names.contains("http get /api/user/cards/{cardId}"), names::toString);
+        assertTrue(names.contains(TracingConfig.JWT_PARSE), names::toString);
+        assertTrue(names.contains(TracingConfig.JWT_USER_LOAD), names::toString);
+        assertTrue(names.contains("user-card-service-impl#get-card-for-user"), names::toString);
+        assertTrue(names.contains(TracingConfig.CRYPTO_DECRYPT), names::toString);
+        assertTrue(names.contains("query"), names::toString);
+        assertEquals(1, spans.stream().map(SpanData::getTraceId).distinct().count());
+    }
+
+    @Test
+    void tracingEndpoint_ProbabilityOutOfRange_IsRejected() throws Exception {
+        mockMvc.perform(post("/actuator/tracing")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"enabled\": true, \"probability\": 2}"))
+                .andExpect(status().isBadRequest());
+
+        assertFalse(tracingSampler.isEnabled());
+    }
+
+    private void getCard() throws Exception {
+        mockMvc.perform(get("/api/user/cards/{cardId}", card.getId())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk());
+    }
+
+    private List<SpanData> finishedSpans() {
+        tracerProvider.forceFlush().join(5, TimeUnit.SECONDS);
+        return spanExporter.getFinishedSpanItems();
+    }
+}
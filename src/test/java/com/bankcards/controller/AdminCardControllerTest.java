@@ -1,8 +1,11 @@
 package com.bankcards.controller;
 
+import com.bankcards.dto.CardCountsDto;
 import com.bankcards.dto.CardDto;
+import com.bankcards.dto.ReEncryptionStatusDto;
 import com.bankcards.entity.CardStatus;
 import com.bankcards.service.AdminCardService;
+import com.bankcards.service.CardReEncryptionService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -11,12 +14,15 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.doNothing;
@@ -29,6 +35,8 @@ import static org.mockito.Mockito.when;
 class AdminCardControllerTest {
     @Mock
     private AdminCardService adminCardService;
+    @Mock
+    private CardReEncryptionService cardReEncryptionService;
     @InjectMocks
     private AdminCardController adminCardController;
 
@@ -104,6 +112,29 @@ class AdminCardControllerTest {
         assertEquals(1, response.getBody().getContent().size());
         verify(adminCardService).getAllCards(page, size, null);
     }
+
+    @Test
+    void getAllCardsSlice_WithoutFilters_ReturnsSlice() {
+        Slice<CardDto> expectedSlice = new SliceImpl<>(List.of(cardDto));
+        when(adminCardService.getAllCardsSlice(0, 10, null)).thenReturn(expectedSlice);
+
+        ResponseEntity<Slice<CardDto>> response = adminCardController.getAllCardsSlice(0, 10, null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(expectedSlice, response.getBody());
+    }
+
+    @Test
+    void getCardCounts_Success_ReturnsCounts() {
+        CardCountsDto counts = new CardCountsDto(Map.of(CardStatus.ACTIVE, 1L), 1L, LocalDateTime.now());
+        when(adminCardService.getCardCounts()).thenReturn(counts);
+
+        ResponseEntity<CardCountsDto> response = adminCardController.getCardCounts();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(counts, response.getBody());
+    }
+
     @Test
     void getUserCards_Success_ReturnsUserCardsPage() {
         Long userId = 1L;
@@ -118,4 +149,17 @@ class AdminCardControllerTest {
         assertEquals(1, response.getBody().getContent().size());
         verify(adminCardService).getCardsByUser(userId, page, size);
     }
+
+    @Test
+    void startReEncryption_Success_ReturnsAccepted() {
+        ReEncryptionStatusDto status = new ReEncryptionStatusDto();
+        status.setState(ReEncryptionStatusDto.ReEncryptionState.RUNNING);
+        when(cardReEncryptionService.start()).thenReturn(status);
+
+        ResponseEntity<ReEncryptionStatusDto> response = adminCardController.startReEncryption();
+
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+        assertEquals(status, response.getBody());
+        verify(cardReEncryptionService).start();
+    }
 }
@@ -14,6 +14,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.math.BigDecimal;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
@@ -83,6 +85,16 @@ class AdminControllerTest {
         verify(adminService).updateUser(1L, updateUserDto);
     }
 
+    @Test
+    void recountBalance_Success_Returns200() {
+        when(adminService.recountBalance(1L)).thenReturn(new BigDecimal("75.00"));
+
+        ResponseEntity<BigDecimal> result = controller.recountBalance(1L);
+
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals(new BigDecimal("75.00"), result.getBody());
+    }
+
     @Test
     void deleteUser_NotFound_ThrowsException() {
         doThrow(new NotFoundException("User not found")).when(adminService).deleteUser(999L);
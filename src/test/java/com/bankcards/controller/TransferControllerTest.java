@@ -1,5 +1,8 @@
 package com.bankcards.controller;
 
+import com.bankcards.dto.BatchTransferItemResult;
+import com.bankcards.dto.BatchTransferRequest;
+import com.bankcards.dto.BatchTransferResponse;
 import com.bankcards.dto.TransferRequest;
 import com.bankcards.entity.Role;
 import com.bankcards.exception.InsufficientFundsException;
@@ -21,6 +24,7 @@ import org.springframework.security.core.Authentication;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -48,6 +52,7 @@ class TransferControllerTest {
         user.setFirstName("Test");
         user.setLastName("Test");
         user.setRoles(Set.of(Role.ROLE_USER));
+        user.setId(7L);
         user.setEmail("email@test.test");
 
         CustomUserDetails userDetails = new CustomUserDetails(user);
@@ -68,46 +73,71 @@ class TransferControllerTest {
 
     @Test
     void transferBetweenUserCards_Success_Returns200() {
-        when(transferService.transferBetweenUserCards(request, "email@test.test"))
+        when(transferService.transferBetweenUserCards(request, 7L, null))
                 .thenReturn(response);
 
-        ResponseEntity<TransferResponse> result = controller.transferBetweenUserCards(request, authentication);
+        ResponseEntity<TransferResponse> result = controller.transferBetweenUserCards(request, null, authentication);
 
         assertEquals(HttpStatus.OK, result.getStatusCode());
-        verify(transferService).transferBetweenUserCards(request, "email@test.test");
+        verify(transferService).transferBetweenUserCards(request, 7L, null);
     }
 
     @Test
     void transferBetweenUserCards_NotFound_ThrowsException() {
-        when(transferService.transferBetweenUserCards(request, "email@test.test"))
+        when(transferService.transferBetweenUserCards(request, 7L, null))
                 .thenThrow(new NotFoundException("Card not found"));
 
         NotFoundException exception = assertThrows(NotFoundException.class,
-                () -> controller.transferBetweenUserCards(request, authentication));
+                () -> controller.transferBetweenUserCards(request, null, authentication));
         assertEquals("Card not found", exception.getMessage());
-        verify(transferService).transferBetweenUserCards(request, "email@test.test");
+        verify(transferService).transferBetweenUserCards(request, 7L, null);
     }
 
     @Test
     void transferBetweenUserCards_InsufficientFunds_ThrowsException() {
-        when(transferService.transferBetweenUserCards(request, "email@test.test"))
+        when(transferService.transferBetweenUserCards(request, 7L, null))
                 .thenThrow(new InsufficientFundsException(new BigDecimal("100.00"), new BigDecimal("200.00")));
 
         InsufficientFundsException exception = assertThrows(InsufficientFundsException.class,
-                () -> controller.transferBetweenUserCards(request, authentication));
+                () -> controller.transferBetweenUserCards(request, null, authentication));
         assertEquals("Insufficient funds. Available: 100.00, Required: 200.00", exception.getMessage());
-        verify(transferService).transferBetweenUserCards(request, "email@test.test");
+        verify(transferService).transferBetweenUserCards(request, 7L, null);
     }
 
     @Test
     void transferBetweenUserCards_InvalidAmount_ThrowsException() {
-        when(transferService.transferBetweenUserCards(request, "email@test.test"))
+        when(transferService.transferBetweenUserCards(request, 7L, null))
                 .thenThrow(new InvalidTransferAmountException("Transfer amount must be positive"));
 
         InvalidTransferAmountException exception = assertThrows(InvalidTransferAmountException.class,
-                () -> controller.transferBetweenUserCards(request, authentication));
+                () -> controller.transferBetweenUserCards(request, null, authentication));
         assertEquals("Transfer amount must be positive", exception.getMessage());
-        verify(transferService).transferBetweenUserCards(request, "email@test.test");
+        verify(transferService).transferBetweenUserCards(request, 7L, null);
     }
 
-}
\ No newline at end of file
+    @Test
+    void transferBetweenUserCards_WithIdempotencyKey_PassesKeyToService() {
+        when(transferService.transferBetweenUserCards(request, 7L, "key-1"))
+                .thenReturn(response);
+
+        ResponseEntity<TransferResponse> result = controller.transferBetweenUserCards(request, "key-1", authentication);
+
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals(response, result.getBody());
+        verify(transferService).transferBetweenUserCards(request, 7L, "key-1");
+    }
+
+    @Test
+    void transferBatch_Success_Returns200() {
+        BatchTransferResponse batchResponse = new BatchTransferResponse(1, 0,
+                List.of(new BatchTransferItemResult(0, true, response, null)));
+        when(transferService.transferBatch(List.of(request), 7L)).thenReturn(batchResponse);
+
+        ResponseEntity<BatchTransferResponse> result = controller.transferBatch(
+                new BatchTransferRequest(List.of(request)), authentication);
+
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals(batchResponse, result.getBody());
+        verify(transferService).transferBatch(List.of(request), 7L);
+    }
+}
@@ -3,6 +3,7 @@ package com.bankcards.controller;
 import com.bankcards.entity.Role;
 import com.bankcards.service.UserCardService;
 import com.bankcards.dto.CardDto;
+import com.bankcards.dto.CardFilter;
 import com.bankcards.entity.CardStatus;
 import com.bankcards.entity.User;
 import com.bankcards.exception.NotFoundException;
@@ -29,7 +30,6 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.times;
@@ -58,6 +58,7 @@ class UserCardControllerTest {
         user.setLastName("Test");
         user.setRoles(Set.of(Role.ROLE_USER));
         user.setEmail("email@test.test");
+        user.setId(7L);
 
         CustomUserDetails userDetails = new CustomUserDetails(user);
 
@@ -78,101 +79,101 @@ class UserCardControllerTest {
 
     @Test
     void getMyCards_Success_ReturnsPage() {
-        when(cardService.getUserCardsByEmail("email@test.test", 0, 10, null, null))
+        when(cardService.getUserCards(7L, 0, 10, filter(null, null)))
                 .thenReturn(cardPage);
 
-        ResponseEntity<Page<CardDto>> response = controller.getMyCards(0, 10, null, null, authentication);
+        ResponseEntity<Page<CardDto>> response = controller.getMyCards(0, 10, filter(null, null), authentication);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(1, response.getBody().getContent().size());
         assertEquals(1L, response.getBody().getContent().get(0).getId());
-        verify(cardService).getUserCardsByEmail("email@test.test", 0, 10, null, null);
+        verify(cardService).getUserCards(7L, 0, 10, filter(null, null));
     }
 
     @Test
     void getMyCards_WithFilters_ReturnsFilteredPage() {
-        when(cardService.getUserCardsByEmail("email@test.test", 0, 5, "1234", CardStatus.ACTIVE))
+        when(cardService.getUserCards(7L, 0, 5, filter("1234", CardStatus.ACTIVE)))
                 .thenReturn(cardPage);
 
-        ResponseEntity<Page<CardDto>> response = controller.getMyCards(0, 5, "1234", CardStatus.ACTIVE, authentication);
+        ResponseEntity<Page<CardDto>> response = controller.getMyCards(0, 5, filter("1234", CardStatus.ACTIVE), authentication);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        verify(cardService).getUserCardsByEmail("email@test.test", 0, 5, "1234", CardStatus.ACTIVE);
+        verify(cardService).getUserCards(7L, 0, 5, filter("1234", CardStatus.ACTIVE));
     }
 
     @Test
     void getUserCard_Success_ReturnsCard() {
-        when(cardService.getCardForUserByEmail(1L, "email@test.test")).thenReturn(cardDto);
+        when(cardService.getCardForUser(1L, 7L)).thenReturn(cardDto);
 
         ResponseEntity<CardDto> response = controller.getUserCard(1L, authentication);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(1L, response.getBody().getId());
-        verify(cardService).getCardForUserByEmail(1L, "email@test.test");
+        verify(cardService).getCardForUser(1L, 7L);
     }
 
     @Test
     void getUserCard_NotFound_ThrowsException() {
-        when(cardService.getCardForUserByEmail(999L, "email@test.test"))
+        when(cardService.getCardForUser(999L, 7L))
                 .thenThrow(new NotFoundException("Card not found"));
 
         NotFoundException exception = assertThrows(NotFoundException.class,
                 () -> controller.getUserCard(999L, authentication));
         assertEquals("Card not found", exception.getMessage());
-        verify(cardService).getCardForUserByEmail(999L, "email@test.test");
+        verify(cardService).getCardForUser(999L, 7L);
     }
 
     @Test
     void requestCardBlock_Success_Returns202() {
-        doNothing().when(cardService).requestCardBlockByEmail(1L, "email@test.test");
+        doNothing().when(cardService).requestCardBlock(1L, 7L);
 
         ResponseEntity<Void> response = controller.requestCardBlock(1L, authentication);
 
         assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
-        verify(cardService).requestCardBlockByEmail(1L, "email@test.test");
+        verify(cardService).requestCardBlock(1L, 7L);
     }
 
     @Test
     void requestCardBlock_NotFound_ThrowsException() {
         doThrow(new NotFoundException("Card not found"))
-                .when(cardService).requestCardBlockByEmail(999L, "email@test.test");
+                .when(cardService).requestCardBlock(999L, 7L);
 
         NotFoundException exception = assertThrows(NotFoundException.class,
                 () -> controller.requestCardBlock(999L, authentication));
         assertEquals("Card not found", exception.getMessage());
-        verify(cardService).requestCardBlockByEmail(999L, "email@test.test");
+        verify(cardService).requestCardBlock(999L, 7L);
     }
 
     @Test
     void getUserBalance_Success_ReturnsBalance() {
         BigDecimal balance = new BigDecimal("2500.00");
-        when(cardService.getBalanceForUserByEmail("email@test.test")).thenReturn(balance);
+        when(cardService.getBalanceForUser(7L)).thenReturn(balance);
 
         ResponseEntity<BigDecimal> response = controller.getUserBalance(authentication);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(balance, response.getBody());
-        verify(cardService).getBalanceForUserByEmail("email@test.test");
+        verify(cardService).getBalanceForUser(7L);
     }
 
     @Test
     void getUserBalance_Null_ReturnsZero() {
-        when(cardService.getBalanceForUserByEmail("email@test.test")).thenReturn(null);
+        when(cardService.getBalanceForUser(7L)).thenReturn(null);
 
         ResponseEntity<BigDecimal> response = controller.getUserBalance(authentication);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(BigDecimal.ZERO, response.getBody());
-        verify(cardService).getBalanceForUserByEmail("email@test.test");
+        verify(cardService).getBalanceForUser(7L);
     }
 
     @Test
     void getMyCards_EmptyPage_ReturnsEmpty() {
         Page<CardDto> emptyPage = new PageImpl<>(List.of());
-        when(cardService.getUserCardsByEmail("email@test.test", 0, 10, null, null))
+        when(cardService.getUserCards(7L, 0, 10, filter(null, null)))
                 .thenReturn(emptyPage);
 
-        ResponseEntity<Page<CardDto>> response = controller.getMyCards(0, 10, null, null, authentication);
+        ResponseEntity<Page<CardDto>> response = controller.getMyCards(0, 10, filter(null, null), authentication);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertTrue(response.getBody().getContent().isEmpty());
@@ -181,43 +182,44 @@ class UserCardControllerTest {
 
     @Test
     void getMyCards_Page1_ReturnsCorrectPage() {
-        when(cardService.getUserCardsByEmail("email@test.test", 1, 20, null, null))
+        when(cardService.getUserCards(7L, 1, 20, filter(null, null)))
                 .thenReturn(cardPage);
 
-        ResponseEntity<Page<CardDto>> response = controller.getMyCards(1, 20, null, null, authentication);
+        ResponseEntity<Page<CardDto>> response = controller.getMyCards(1, 20, filter(null, null), authentication);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        verify(cardService).getUserCardsByEmail("email@test.test", 1, 20, null, null);
+        verify(cardService).getUserCards(7L, 1, 20, filter(null, null));
     }
 
     @Test
     void getMyCards_StatusBlocked_ReturnsFiltered() {
-        when(cardService.getUserCardsByEmail("email@test.test", 0, 10, null, CardStatus.BLOCKED))
+        when(cardService.getUserCards(7L, 0, 10, filter(null, CardStatus.BLOCKED)))
                 .thenReturn(cardPage);
 
-        ResponseEntity<Page<CardDto>> response = controller.getMyCards(0, 10, null, CardStatus.BLOCKED, authentication);
+        ResponseEntity<Page<CardDto>> response = controller.getMyCards(0, 10, filter(null, CardStatus.BLOCKED), authentication);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        verify(cardService).getUserCardsByEmail("email@test.test", 0, 10, null, CardStatus.BLOCKED);
+        verify(cardService).getUserCards(7L, 0, 10, filter(null, CardStatus.BLOCKED));
     }
 
     @Test
     void getMyCards_SearchFilter_ReturnsFiltered() {
-        when(cardService.getUserCardsByEmail("email@test.test", 0, 10, "1234", null))
+        when(cardService.getUserCards(7L, 0, 10, filter("1234", null)))
                 .thenReturn(cardPage);
 
-        ResponseEntity<Page<CardDto>> response = controller.getMyCards(0, 10, "1234", null, authentication);
+        ResponseEntity<Page<CardDto>> response = controller.getMyCards(0, 10, filter("1234", null), authentication);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        verify(cardService).getUserCardsByEmail("email@test.test", 0, 10, "1234", null);
+        verify(cardService).getUserCards(7L, 0, 10, filter("1234", null));
     }
 
     @Test
     void getUserCard_DifferentUser_ThrowsException() {
-        when(cardService.getCardForUserByEmail(1L, "test@example.com"))
+        when(cardService.getCardForUser(1L, 8L))
                 .thenThrow(new NotFoundException("Card not found"));
 
         User newUser = new User();
+        newUser.setId(8L);
         newUser.setEmail("test@example.com");
         CustomUserDetails testDetails = new CustomUserDetails(newUser);
 
@@ -230,18 +232,18 @@ class UserCardControllerTest {
 
     @Test
     void requestCardBlock_Card2_Success() {
-        doNothing().when(cardService).requestCardBlockByEmail(2L, "email@test.test");
+        doNothing().when(cardService).requestCardBlock(2L, 7L);
 
         ResponseEntity<Void> response = controller.requestCardBlock(2L, authentication);
 
         assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
-        verify(cardService).requestCardBlockByEmail(2L, "email@test.test");
+        verify(cardService).requestCardBlock(2L, 7L);
     }
 
     @Test
     void getUserBalance_1000_ReturnsCorrect() {
         BigDecimal balance = new BigDecimal("1000.00");
-        when(cardService.getBalanceForUserByEmail("email@test.test")).thenReturn(balance);
+        when(cardService.getBalanceForUser(7L)).thenReturn(balance);
 
         ResponseEntity<BigDecimal> response = controller.getUserBalance(authentication);
 
@@ -250,19 +252,26 @@ class UserCardControllerTest {
 
     @Test
     void allMethods_CalledOnce() {
-        when(cardService.getUserCardsByEmail(anyString(), anyInt(), anyInt(), any(), any())).thenReturn(cardPage);
-        when(cardService.getCardForUserByEmail(anyLong(), anyString())).thenReturn(cardDto);
-        when(cardService.getBalanceForUserByEmail(anyString())).thenReturn(new BigDecimal("1000"));
-        doNothing().when(cardService).requestCardBlockByEmail(anyLong(), anyString());
+        when(cardService.getUserCards(anyLong(), anyInt(), anyInt(), any())).thenReturn(cardPage);
+        when(cardService.getCardForUser(anyLong(), anyLong())).thenReturn(cardDto);
+        when(cardService.getBalanceForUser(anyLong())).thenReturn(new BigDecimal("1000"));
+        doNothing().when(cardService).requestCardBlock(anyLong(), anyLong());
 
-        controller.getMyCards(0, 10, null, null, authentication);
+        controller.getMyCards(0, 10, filter(null, null), authentication);
         controller.getUserCard(1L, authentication);
         controller.requestCardBlock(1L, authentication);
         controller.getUserBalance(authentication);
 
-        verify(cardService, times(1)).getUserCardsByEmail(anyString(), anyInt(), anyInt(), any(), any());
-        verify(cardService, times(1)).getCardForUserByEmail(anyLong(), anyString());
-        verify(cardService, times(1)).requestCardBlockByEmail(anyLong(), anyString());
-        verify(cardService, times(1)).getBalanceForUserByEmail(anyString());
+        verify(cardService, times(1)).getUserCards(anyLong(), anyInt(), anyInt(), any());
+        verify(cardService, times(1)).getCardForUser(anyLong(), anyLong());
+        verify(cardService, times(1)).requestCardBlock(anyLong(), anyLong());
+        verify(cardService, times(1)).getBalanceForUser(anyLong());
     }
-}
\ No newline at end of file
+
+    private CardFilter filter(String search, CardStatus status) {
+        CardFilter filter = new CardFilter();
+        filter.setSearch(search);
+        filter.setStatus(status);
+        return filter;
+    }
+}
@@ -0,0 +1,262 @@
+package com.bankcards.repository;
+
+import com.bankcards.dto.CardFilter;
+import com.bankcards.entity.Card;
+import com.bankcards.entity.CardStatus;
+import com.bankcards.entity.Role;
+import com.bankcards.entity.User;
+import com.bankcards.util.CardCursor;
+import com.bankcards.util.CardGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs each listing query through the repository, captures the SQL Hibernate generated for it and
+ * checks with EXPLAIN that H2 (in PostgreSQL mode) reads {@code cards} through the expected index.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:bankcards-query-plans;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+                + "DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.bankcards.repository.CapturingStatementInspector"
+})
+@ActiveProfiles("test")
+class CardRepositoryQueryPlanTest {
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 10, Sort.by("createdAt").descending());
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CardGenerator cardGenerator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setFirstName("Query");
+        user.setLastName("Plan");
+        user.setEmail(UUID.randomUUID() + "@test.test");
+        user.setPassword("password");
+        user.setRoles(Set.of(Role.ROLE_USER));
+        user = userRepository.save(user);
+        for (int i = 0; i < 20; i++) {
+            Card card = cardGenerator.generateCard(user);
+            card.setStatus(i % 2 == 0 ? CardStatus.ACTIVE : CardStatus.BLOCKED);
+            cardRepository.save(card);
+        }
+        CapturingStatementInspector.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM cards WHERE user_id = ?", user.getId());
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    void findByUser_UsesUserCreatedAtIndex() {
+        cardRepository.findByUser(user, FIRST_PAGE);
+
+        assertUsesIndex(listingQuery(), "ix_cards_user_id_created_at");
+    }
+
+    @Test
+    void findListing_ForUserWithStatus_UsesUserCreatedAtIndex() {
+        cardRepository.findListing(CardSpecifications.forUser(user.getId(), filter(null, CardStatus.ACTIVE)), FIRST_PAGE);
+
+        assertUsesIndex(listingQuery(), "ix_cards_user_id_created_at");
+    }
+
+    @Test
+    void findListing_ForUserSearchByLastFour_UsesLastFourIndex() {
+        Card card = cardRepository.findByUser(user, FIRST_PAGE).getContent().get(0);
+        CapturingStatementInspector.clear();
+
+        Page<CardListView> found = cardRepository.findListing(
+                CardSpecifications.forUser(user.getId(), filter(card.getLastFour(), null)), FIRST_PAGE);
+
+        assertTrue(found.getContent().stream().anyMatch(c -> c.id().equals(card.getId())));
+        assertTrue(found.getContent().stream().allMatch(c -> c.lastFour().equals(card.getLastFour())));
+        assertUsesIndex(listingQuery(), "ix_cards_last_four_user_id");
+    }
+
+    @Test
+    void findListing_ForUserSearchByOwnerName_MatchesPrefixCaseInsensitively() {
+        Page<CardListView> found = cardRepository.findListing(CardSpecifications.forUser(user.getId(), filter("pla", null)), FIRST_PAGE);
+        Page<CardListView> missed = cardRepository.findListing(CardSpecifications.forUser(user.getId(), filter("lan", null)), FIRST_PAGE);
+
+        assertEquals(20, found.getTotalElements());
+        assertEquals(0, missed.getTotalElements());
+    }
+
+    @Test
+    void findListing_ForUserExpiryWindow_FiltersByExpiryDate() {
+        LocalDate expiry = cardRepository.findByUser(user, FIRST_PAGE).getContent().get(0).getExpiryDate();
+        CardFilter window = filter(null, null);
+        window.setExpiryFrom(expiry.plusDays(1));
+
+        assertEquals(0, cardRepository.findListing(CardSpecifications.forUser(user.getId(), window), FIRST_PAGE)
+                .getTotalElements());
+        window.setExpiryFrom(expiry);
+        window.setExpiryTo(expiry);
+        assertEquals(20, cardRepository.findListing(CardSpecifications.forUser(user.getId(), window), FIRST_PAGE)
+                .getTotalElements());
+    }
+
+    @Test
+    void findListing_WithStatus_UsesStatusCreatedAtIndex() {
+        cardRepository.findListing(CardSpecifications.matching(filter(null, CardStatus.BLOCKED)), FIRST_PAGE);
+
+        assertUsesIndex(listingQuery(), "ix_cards_status_created_at");
+    }
+
+    @Test
+    void findListing_WithoutFilters_UsesCreatedAtIndex() {
+        cardRepository.findListing(CardSpecifications.matching(null), FIRST_PAGE);
+
+        assertUsesIndex(listingQuery(), "ix_cards_created_at");
+    }
+
+    @Test
+    void findListing_EmitsOnlyPresentPredicates() {
+        cardRepository.findListing(CardSpecifications.matching(filter(null, CardStatus.ACTIVE)), FIRST_PAGE);
+
+        String where = listingQuery().substring(listingQuery().indexOf(" where "));
+        assertFalse(where.contains(" is null"), () -> "Unexpected catch-all predicate: " + where);
+        assertFalse(where.contains("expiry_date") || where.contains("balance"), () -> "Unexpected predicate: " + where);
+    }
+
+    @Test
+    void findListing_BalanceAndCreatedRanges_FilterCards() {
+        Card card = cardRepository.findByUser(user, FIRST_PAGE).getContent().get(0);
+        CardFilter filter = filter(null, null);
+        filter.setBalanceFrom(BigDecimal.ONE);
+
+        assertTrue(cardRepository.findListing(CardSpecifications.forUser(user.getId(), filter), FIRST_PAGE).isEmpty());
+
+        filter.setBalanceFrom(BigDecimal.ZERO);
+        filter.setBalanceTo(BigDecimal.ZERO);
+        filter.setCreatedFrom(card.getCreatedAt());
+        filter.setCreatedTo(card.getCreatedAt());
+        List<CardListView> found = cardRepository.findListing(CardSpecifications.forUser(user.getId(), filter), FIRST_PAGE)
+                .getContent();
+
+        assertFalse(found.isEmpty());
+        assertTrue(found.stream().allMatch(c -> c.createdAt().equals(card.getCreatedAt())));
+    }
+
+    @Test
+    void findListingSlice_WithStatus_SkipsCountQuery() {
+        Slice<CardListView> slice = cardRepository.findListingSlice(CardSpecifications.matching(filter(null, CardStatus.ACTIVE)),
+                PageRequest.of(0, 5, Sort.by("createdAt").descending()));
+
+        assertTrue(slice.hasNext());
+        assertTrue(CapturingStatementInspector.statements().stream().noneMatch(sql -> sql.contains("count(")));
+        assertUsesIndex(listingQuery(), "ix_cards_status_created_at");
+    }
+
+    @Test
+    void findListingBefore_WithoutFilters_UsesCreatedAtIndex() {
+        cardRepository.findListingBefore(CardSpecifications.matching(null), CardCursor.FIRST, Limit.of(11));
+
+        assertUsesIndex(listingQuery(), "ix_cards_created_at");
+    }
+
+    @Test
+    void findListingBefore_WithStatus_UsesStatusCreatedAtIndex() {
+        cardRepository.findListingBefore(CardSpecifications.matching(filter(null, CardStatus.ACTIVE)),
+                CardCursor.FIRST, Limit.of(11));
+
+        assertUsesIndex(listingQuery(), "ix_cards_status_created_at");
+    }
+
+    @Test
+    void findListingBefore_ForUser_UsesUserCreatedAtIndex() {
+        cardRepository.findListingBefore(CardSpecifications.forUser(user.getId(), null), CardCursor.FIRST, Limit.of(11));
+
+        assertUsesIndex(listingQuery(), "ix_cards_user_id_created_at");
+    }
+
+    @Test
+    void findListingBefore_WalkingCursors_VisitsEveryCardOnce() {
+        List<Long> expected = cardRepository.findByUser(user, PageRequest.of(0, 100, CardCursor.ORDER))
+                .map(Card::getId).getContent();
+
+        List<Long> visited = new ArrayList<>();
+        CardCursor cursor = CardCursor.FIRST;
+        List<CardListView> page;
+        do {
+            page = cardRepository.findListingBefore(CardSpecifications.forUser(user.getId(), null), cursor, Limit.of(3));
+            page.forEach(row -> visited.add(row.id()));
+            if (!page.isEmpty()) {
+                CardListView last = page.get(page.size() - 1);
+                cursor = new CardCursor(last.createdAt(), last.id());
+            }
+        } while (page.size() == 3);
+
+        assertEquals(expected, visited);
+    }
+
+    @Test
+    void findByCardNumberHash_UsesBlindIndex() {
+        cardRepository.findByCardNumberHash("0".repeat(64));
+
+        assertUsesIndex(lastQueryOnCards(), "ux_cards_card_number_hash");
+    }
+
+    private CardFilter filter(String search, CardStatus status) {
+        CardFilter filter = new CardFilter();
+        filter.setSearch(search);
+        filter.setStatus(status);
+        return filter;
+    }
+
+    private String listingQuery() {
+        return CapturingStatementInspector.statements().stream()
+                .filter(sql -> sql.contains("cards") && sql.contains("order by"))
+                .reduce((first, second) -> second)
+                .orElseThrow(() -> new AssertionError("No listing query was executed"));
+    }
+
+    private String lastQueryOnCards() {
+        List<String> statements = CapturingStatementInspector.statements();
+        return statements.stream()
+                .filter(sql -> sql.contains("cards"))
+                .reduce((first, second) -> second)
+                .orElseThrow(() -> new AssertionError("No query on cards was executed"));
+    }
+
+    private void assertUsesIndex(String sql, String indexName) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+        assertTrue(plan.contains("public." + indexName), () -> "Expected " + indexName + " in plan:\n" + plan);
+        assertFalse(plan.contains("cards.tableScan"), () -> "Unexpected table scan in plan:\n" + plan);
+    }
+}
@@ -0,0 +1,93 @@
+package com.bankcards.security;
+
+import com.bankcards.config.JwtProperties;
+import com.bankcards.dto.UpdateUserDto;
+import com.bankcards.entity.Role;
+import com.bankcards.entity.User;
+import com.bankcards.repository.UserRepository;
+import com.bankcards.security.jwt.JwtService;
+import com.bankcards.security.jwt.TokenClaims;
+import com.bankcards.service.AdminService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Revocations must hold for an instance that never saw them: each check below uses a fresh
+ * {@link TokenRevocationService}, as after a restart or on another node.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@WithMockUser(roles = "ADMIN")
+class TokenRevocationPersistenceTest {
+    @Autowired
+    private AdminService adminService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private JwtProperties jwtProperties;
+
+    private User admin;
+
+    @BeforeEach
+    void setUp() {
+        admin = new User();
+        admin.setFirstName("Demoted");
+        admin.setLastName("Admin");
+        admin.setEmail(UUID.randomUUID() + "@test.test");
+        admin.setPassword("password");
+        admin.setRoles(Set.of(Role.ROLE_ADMIN));
+        admin = userRepository.save(admin);
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.findById(admin.getId()).ifPresent(userRepository::delete);
+    }
+
+    @Test
+    void isRevoked_TokenIssuedBeforeDemotion_RejectedWithoutInMemoryState() {
+        TokenClaims beforeDemotion = issueToken(userRepository.findById(admin.getId()).orElseThrow());
+        UpdateUserDto update = new UpdateUserDto();
+        update.setRoles(new HashSet<>(Set.of(Role.ROLE_USER)));
+
+        adminService.updateUser(admin.getId(), update);
+
+        assertTrue(freshRevocationService().isRevoked(beforeDemotion));
+        assertFalse(freshRevocationService().isRevoked(issueToken(userRepository.findById(admin.getId()).orElseThrow())));
+    }
+
+    @Test
+    void isRevoked_TokenOfDeletedUser_RejectedWithoutInMemoryState() {
+        TokenClaims beforeDeletion = issueToken(admin);
+
+        adminService.deleteUser(admin.getId());
+
+        assertTrue(freshRevocationService().isRevoked(beforeDeletion));
+    }
+
+    private TokenRevocationService freshRevocationService() {
+        return new TokenRevocationService(jwtProperties, userRepository);
+    }
+
+    private TokenClaims issueToken(User user) {
+        String token = jwtService.generateAuthToken(user.getId(), user.getEmail(), user.getTokenVersion(),
+                new CustomUserDetails(user).getAuthorities()).getToken();
+        return jwtService.parseToken(token).orElseThrow();
+    }
+}
@@ -0,0 +1,106 @@
+package com.bankcards.security;
+
+import com.bankcards.config.JwtProperties;
+import com.bankcards.repository.UserRepository;
+import com.bankcards.security.jwt.TokenClaims;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationServiceTest {
+    @Mock
+    private UserRepository userRepository;
+
+    private TokenRevocationService tokenRevocationService;
+
+    @BeforeEach
+    void setUp() {
+        tokenRevocationService = new TokenRevocationService(new JwtProperties(), userRepository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void isRevoked_CurrentVersion_ReturnsFalse() {
+        when(userRepository.findTokenVersionById(1L)).thenReturn(Optional.of(2L));
+
+        assertFalse(tokenRevocationService.isRevoked(claims(1L, 2L)));
+    }
+
+    @Test
+    void isRevoked_OlderVersion_ReturnsTrue() {
+        when(userRepository.findTokenVersionById(1L)).thenReturn(Optional.of(2L));
+
+        assertTrue(tokenRevocationService.isRevoked(claims(1L, 1L)));
+    }
+
+    @Test
+    void isRevoked_DeletedUser_ReturnsTrue() {
+        when(userRepository.findTokenVersionById(1L)).thenReturn(Optional.empty());
+
+        assertTrue(tokenRevocationService.isRevoked(claims(1L, 0L)));
+    }
+
+    @Test
+    void isRevoked_NoUserId_SkipsLookup() {
+        assertFalse(tokenRevocationService.isRevoked(claims(null, 0L)));
+
+        verify(userRepository, never()).findTokenVersionById(null);
+    }
+
+    @Test
+    void isRevoked_RepeatedChecks_ReadVersionOnce() {
+        when(userRepository.findTokenVersionById(1L)).thenReturn(Optional.of(0L));
+
+        tokenRevocationService.isRevoked(claims(1L, 0L));
+        tokenRevocationService.isRevoked(claims(1L, 0L));
+
+        verify(userRepository, times(1)).findTokenVersionById(1L);
+    }
+
+    @Test
+    void revokeTokens_InsideTransaction_BumpsVersionAndRereadsAfterCompletion() {
+        when(userRepository.findTokenVersionById(1L))
+                .thenReturn(Optional.of(0L))
+                .thenReturn(Optional.of(0L))
+                .thenReturn(Optional.of(1L));
+        TokenClaims claims = claims(1L, 0L);
+        assertFalse(tokenRevocationService.isRevoked(claims));
+        TransactionSynchronizationManager.initSynchronization();
+
+        tokenRevocationService.revokeTokens(1L);
+        assertFalse(tokenRevocationService.isRevoked(claims));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        verify(userRepository).incrementTokenVersion(1L);
+        assertTrue(tokenRevocationService.isRevoked(claims));
+    }
+
+    private TokenClaims claims(Long userId, long tokenVersion) {
+        Instant issuedAt = Instant.now();
+        return new TokenClaims(userId, "user@test.test", List.of("ROLE_USER"), tokenVersion,
+                issuedAt, issuedAt.plusSeconds(3600));
+    }
+}
@@ -4,14 +4,16 @@ import com.bankcards.config.JwtProperties;
 import com.bankcards.dto.JwtAuthenticationDto;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.when;
@@ -26,9 +28,12 @@ class JwtServiceTest {
     @Mock
     private JwtProperties.Refresh refresh;
 
-    @InjectMocks
+    @Mock
+    private JwtProperties.Cache cache;
+
     private JwtService jwtService;
 
+    private final Long userId = 42L;
     private final String email = "test123@test.com";
     Collection<? extends GrantedAuthority> authorities;
 
@@ -41,10 +46,12 @@ class JwtServiceTest {
 
         when(jwtProperties.getAccess()).thenReturn(access);
         when(jwtProperties.getRefresh()).thenReturn(refresh);
+        when(jwtProperties.getCache()).thenReturn(cache);
 
 
         when(access.getExpiration()).thenReturn(60L);
         when(refresh.getExpiration()).thenReturn(7L);
+        when(cache.getMaxSize()).thenReturn(100L);
 
         jwtService = new JwtService(jwtProperties);
     }
@@ -52,19 +59,21 @@ class JwtServiceTest {
     @Test
     void generateAuthTokenTest() {
 
-        JwtAuthenticationDto jwtAuthenticationDto = jwtService.generateAuthToken(email, authorities);
+        JwtAuthenticationDto jwtAuthenticationDto = jwtService.generateAuthToken(userId, email, 0L, authorities);
         assertEquals(email, jwtService.getEmailFromToken(jwtAuthenticationDto.getToken()));
         assertTrue(jwtService.validateJwtToken(jwtAuthenticationDto.getToken()));
     }
 
     @Test
     void refreshBaseTokenTest() throws InterruptedException {
-        JwtAuthenticationDto jwtAuthenticationDto = jwtService.generateAuthToken(email, authorities);
+        JwtAuthenticationDto jwtAuthenticationDto = jwtService.generateAuthToken(userId, email, 0L, authorities);
 
         Thread.sleep(1000);
 
         JwtAuthenticationDto jwtAuthenticationDtoNew = jwtService.refreshBaseToken(
+                userId,
                 email,
+                0L,
                 jwtAuthenticationDto.getRefreshToken(),
                 authorities
         );
@@ -74,4 +83,55 @@ class JwtServiceTest {
         assertNotEquals(jwtAuthenticationDtoNew.getToken(), jwtAuthenticationDto.getToken());
     }
 
-}
\ No newline at end of file
+    @Test
+    void parseTokenTest() {
+        JwtAuthenticationDto jwtAuthenticationDto = jwtService.generateAuthToken(userId, email, 0L, authorities);
+
+        Optional<TokenClaims> claims = jwtService.parseToken(jwtAuthenticationDto.getToken());
+
+        assertTrue(claims.isPresent());
+        assertEquals(userId, claims.get().userId());
+        assertEquals(email, claims.get().email());
+        assertEquals(List.of("ROLE_USER"), claims.get().roles());
+        assertEquals(0L, claims.get().tokenVersion());
+        assertTrue(claims.get().expiresAt().isAfter(Instant.now()));
+    }
+
+    @Test
+    void parseTokenCarriesTokenVersionTest() {
+        String token = jwtService.generateAuthToken(userId, email, 3L, authorities).getToken();
+
+        assertEquals(3L, jwtService.parseToken(token).orElseThrow().tokenVersion());
+    }
+
+    @Test
+    void parseTokenIssuedAtHasMillisecondPrecisionTest() {
+        Instant before = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        String token = jwtService.generateAuthToken(userId, email, 0L, authorities).getToken();
+        Instant after = Instant.now();
+
+        Instant issuedAt = jwtService.parseToken(token).orElseThrow().issuedAt();
+
+        assertFalse(issuedAt.isBefore(before));
+        assertFalse(issuedAt.isAfter(after));
+    }
+
+    @Test
+    void parseTokenReturnsCachedClaimsTest() {
+        String token = jwtService.generateAuthToken(userId, email, 0L, authorities).getToken();
+
+        TokenClaims first = jwtService.parseToken(token).orElseThrow();
+        TokenClaims second = jwtService.parseToken(token).orElseThrow();
+
+        assertSame(first, second);
+    }
+
+    @Test
+    void parseTokenInvalidSignatureTest() {
+        String token = jwtService.generateAuthToken(userId, email, 0L, authorities).getToken();
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertTrue(jwtService.parseToken(tampered).isEmpty());
+        assertFalse(jwtService.validateJwtToken("not-a-token"));
+    }
+}
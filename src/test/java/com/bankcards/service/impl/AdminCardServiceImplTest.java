@@ -1,6 +1,9 @@
 package com.bankcards.service.impl;
 
+import com.bankcards.dto.CardCountsDto;
 import com.bankcards.dto.CardDto;
+import com.bankcards.dto.CardFilter;
+import com.bankcards.dto.CursorPageDto;
 import com.bankcards.entity.Card;
 import com.bankcards.entity.CardStatus;
 import com.bankcards.entity.Role;
@@ -8,31 +11,39 @@ import com.bankcards.entity.User;
 import com.bankcards.exception.NotFoundException;
 import com.bankcards.exception.ValidationException;
 import com.bankcards.mapper.CardMapper;
+import com.bankcards.repository.CardListView;
 import com.bankcards.repository.CardRepository;
 import com.bankcards.repository.UserRepository;
+import com.bankcards.util.CardCursor;
 import com.bankcards.util.CardGenerator;
+import com.bankcards.util.PageSizes;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -51,12 +62,19 @@ class AdminCardServiceImplTest {
     @Mock
     private CardMapper cardMapper;
 
+    @Mock
+    private CardStatusCounter cardStatusCounter;
+
+    @Mock
+    private UserBalanceStore userBalanceStore;
+
     @InjectMocks
     private AdminCardServiceImpl adminCardService;
 
     private User user;
     private Card card;
     private CardDto cardDto;
+    private CardListView cardView;
 
     @BeforeEach
     void setUp() {
@@ -83,6 +101,8 @@ class AdminCardServiceImplTest {
                 LocalDate.now().plusYears(3), CardStatus.ACTIVE,
                 BigDecimal.ZERO, LocalDateTime.now()
         );
+        cardView = new CardListView(1L, "1111", "John", "Doe", card.getExpiryDate(), CardStatus.ACTIVE,
+                BigDecimal.ZERO, card.getCreatedAt());
     }
 
     @Test
@@ -100,6 +120,60 @@ class AdminCardServiceImplTest {
         verify(cardGenerator).generateCard(user);
         verify(cardRepository).save(card);
         verify(cardMapper).mapCardToCardDto(card);
+        verify(cardStatusCounter).cardCreated(CardStatus.ACTIVE);
+        verify(userBalanceStore).adjust(user.getId(), BigDecimal.ZERO);
+    }
+
+    @Test
+    void createCard_GeneratedNumberTaken_RegeneratesCard() {
+        Long userId = 1L;
+        Card takenCard = new Card();
+        takenCard.setCardNumber("4000000000000002");
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(cardGenerator.generateCard(user)).thenReturn(takenCard, card);
+        when(cardRepository.existsByCardNumber("4000000000000002")).thenReturn(true);
+        when(cardRepository.save(card)).thenReturn(card);
+        when(cardMapper.mapCardToCardDto(card)).thenReturn(cardDto);
+
+        CardDto result = adminCardService.createCard(userId);
+
+        assertEquals(cardDto, result);
+        verify(cardRepository).existsByCardNumber("4111111111111111");
+        verify(cardRepository, never()).save(takenCard);
+    }
+
+    @Test
+    void createCard_GeneratorReturnsIssuedCard_ThrowsValidationException() {
+        Long userId = 1L;
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(cardGenerator.generateCard(user)).thenReturn(card);
+        when(cardRepository.existsById(card.getId())).thenReturn(true);
+
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> adminCardService.createCard(userId));
+
+        assertEquals("Card 1 is already issued, its number cannot be changed", exception.getMessage());
+        verify(cardRepository, never()).save(any());
+    }
+
+    @Test
+    void getAllCardsByCursor_FirstPage_SeeksFromStart() {
+        CursorPageDto<CardDto> cursorPage = new CursorPageDto<>(List.of(cardDto), "next", true);
+        when(cardRepository.findListingBefore(anySpecification(), eq(CardCursor.FIRST), eq(Limit.of(2))))
+                .thenReturn(List.of(cardView, cardView));
+        when(cardMapper.mapCardsToCursorPage(List.of(cardView, cardView), 1)).thenReturn(cursorPage);
+
+        CursorPageDto<CardDto> result = adminCardService.getAllCardsByCursor(null, 1, null);
+
+        assertEquals(cursorPage, result);
+    }
+
+    @Test
+    void getAllCardsByCursor_SizeOutOfRange_ThrowsValidationException() {
+        assertThrows(ValidationException.class, () -> adminCardService.getAllCardsByCursor(null, 0, null));
+        assertThrows(ValidationException.class,
+                () -> adminCardService.getAllCardsByCursor(null, PageSizes.MAX + 1, null));
+        verify(cardRepository, never()).findListingBefore(anySpecification(), any(), any());
     }
 
     @Test
@@ -127,6 +201,7 @@ class AdminCardServiceImplTest {
         assertEquals(cardDto, result);
         verify(cardRepository).findById(cardId);
         verify(cardRepository).save(card);
+        verify(cardStatusCounter).statusChanged(CardStatus.ACTIVE, CardStatus.BLOCKED);
     }
 
     @Test
@@ -140,6 +215,7 @@ class AdminCardServiceImplTest {
         assertEquals("Cannot activate expired card", exception.getMessage());
         verify(cardRepository).findById(cardId);
         verify(cardRepository, never()).save(any());
+        verify(cardStatusCounter, never()).statusChanged(any(), any());
     }
 
     @Test
@@ -161,6 +237,8 @@ class AdminCardServiceImplTest {
 
         verify(cardRepository).findById(cardId);
         verify(cardRepository).delete(card);
+        verify(cardStatusCounter).cardDeleted(CardStatus.ACTIVE);
+        verify(userBalanceStore).adjust(user.getId(), BigDecimal.ZERO.negate());
     }
 
     @Test
@@ -172,7 +250,7 @@ class AdminCardServiceImplTest {
         ValidationException exception = assertThrows(ValidationException.class,
                 () -> adminCardService.deleteCard(cardId));
         assertEquals("Cannot delete card with non-zero balance", exception.getMessage());
-        verify(cardRepository, never()).delete(any());
+        verify(cardRepository, never()).delete(any(Card.class));
     }
 
     @Test
@@ -189,14 +267,45 @@ class AdminCardServiceImplTest {
     void getAllCards_WithoutFilters_ReturnsPagedCards() {
         int page = 0;
         int size = 10;
-        Page<Card> cardPage = new PageImpl<>(List.of(card));
-        when(cardRepository.findAllWithFilters(isNull(), any(Pageable.class))).thenReturn(cardPage);
-        when(cardMapper.mapCardToCardDto(card)).thenReturn(cardDto);
+        Page<CardListView> cardPage = new PageImpl<>(List.of(cardView));
+        when(cardRepository.findListing(anySpecification(), any(Pageable.class))).thenReturn(cardPage);
+        when(cardMapper.mapCardListViewToCardDto(cardView)).thenReturn(cardDto);
 
         Page<CardDto> result = adminCardService.getAllCards(page, size, null);
 
         assertEquals(1, result.getContent().size());
-        verify(cardRepository).findAllWithFilters(isNull(), any(Pageable.class));
+        verify(cardRepository).findListing(anySpecification(), any(Pageable.class));
+    }
+
+    @Test
+    void getAllCardsSlice_WithStatus_ReturnsSliceWithoutCount() {
+        Slice<CardListView> cardSlice = new SliceImpl<>(List.of(cardView), PageRequest.of(0, 1), true);
+        CardFilter filter = new CardFilter();
+        filter.setStatus(CardStatus.ACTIVE);
+        when(cardRepository.findListingSlice(anySpecification(), any(Pageable.class))).thenReturn(cardSlice);
+        when(cardMapper.mapCardListViewToCardDto(cardView)).thenReturn(cardDto);
+
+        Slice<CardDto> result = adminCardService.getAllCardsSlice(0, 1, filter);
+
+        assertEquals(List.of(cardDto), result.getContent());
+        assertTrue(result.hasNext());
+        verify(cardRepository, never()).findListing(anySpecification(), any(Pageable.class));
+    }
+
+    @Test
+    void getAllCardsSlice_SizeOutOfRange_ThrowsValidationException() {
+        assertThrows(ValidationException.class, () -> adminCardService.getAllCardsSlice(0, 0, null));
+        assertThrows(ValidationException.class,
+                () -> adminCardService.getAllCardsSlice(0, PageSizes.MAX + 1, null));
+        verify(cardRepository, never()).findListingSlice(anySpecification(), any(Pageable.class));
+    }
+
+    @Test
+    void getCardCounts_ReturnsCounterSnapshot() {
+        CardCountsDto counts = new CardCountsDto(Map.of(CardStatus.ACTIVE, 3L), 3L, LocalDateTime.now());
+        when(cardStatusCounter.getCounts()).thenReturn(counts);
+
+        assertEquals(counts, adminCardService.getCardCounts());
     }
 
     @Test
@@ -204,26 +313,31 @@ class AdminCardServiceImplTest {
         Long userId = 1L;
         int page = 0;
         int size = 10;
-        Page<Card> cardPage = new PageImpl<>(List.of(card));
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(cardRepository.findByUser(eq(user), any(Pageable.class))).thenReturn(cardPage);
-        when(cardMapper.mapCardToCardDto(card)).thenReturn(cardDto);
+        Page<CardListView> cardPage = new PageImpl<>(List.of(cardView));
+        when(userRepository.existsById(userId)).thenReturn(true);
+        when(cardRepository.findListing(anySpecification(), any(Pageable.class))).thenReturn(cardPage);
+        when(cardMapper.mapCardListViewToCardDto(cardView)).thenReturn(cardDto);
 
         Page<CardDto> result = adminCardService.getCardsByUser(userId, page, size);
 
         assertEquals(1, result.getContent().size());
-        verify(userRepository).findById(userId);
-        verify(cardRepository).findByUser(eq(user), any(Pageable.class));
+        verify(userRepository).existsById(userId);
+        verify(cardRepository).findListing(anySpecification(), any(Pageable.class));
     }
 
     @Test
     void getCardsByUser_UserNotFound_ThrowsNotFoundException() {
         Long userId = 999L;
-        when(userRepository.findById(userId)).thenReturn(Optional.empty());
+        when(userRepository.existsById(userId)).thenReturn(false);
 
         NotFoundException exception = assertThrows(NotFoundException.class,
                 () -> adminCardService.getCardsByUser(userId, 0, 10));
         assertEquals("UserId: 999 not found", exception.getMessage());
-        verify(cardRepository, never()).findByUser(any(), any());
+        verify(cardRepository, never()).findListing(any(), any());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Specification<Card> anySpecification() {
+        return any(Specification.class);
     }
-}
\ No newline at end of file
+}
@@ -6,8 +6,11 @@ import com.bankcards.dto.UserDto;
 import com.bankcards.entity.Role;
 import com.bankcards.entity.User;
 import com.bankcards.exception.DuplicatedDataException;
+import com.bankcards.exception.NotFoundException;
 import com.bankcards.mapper.UserMapper;
+import com.bankcards.repository.CardRepository;
 import com.bankcards.repository.UserRepository;
+import com.bankcards.security.TokenRevocationService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -16,6 +19,8 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.math.BigDecimal;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -37,6 +42,18 @@ class AdminServiceImplTest {
     @Mock
     private UserMapper userMapper;
 
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    @Mock
+    private UserBalanceStore userBalanceStore;
+
+    @Mock
+    private CardRepository cardRepository;
+
+    @Mock
+    private EntityCacheInvalidator entityCacheInvalidator;
+
     @InjectMocks
     private AdminServiceImpl adminService;
 
@@ -80,6 +97,7 @@ class AdminServiceImplTest {
         assertEquals(userDto.getEmail(), result.getEmail());
         verify(passwordEncoder).encode("password123");
         verify(userRepository).save(any(User.class));
+        verify(userBalanceStore).open(user.getId());
     }
 
     @Test
@@ -95,8 +113,13 @@ class AdminServiceImplTest {
     @Test
     void deleteUser_Success() {
         Long userId = 1L;
+        when(cardRepository.findIdsByUserId(userId)).thenReturn(List.of(10L, 11L));
+
         adminService.deleteUser(userId);
+
         verify(userRepository).deleteById(userId);
+        verify(tokenRevocationService).revokeTokens(userId);
+        verify(entityCacheInvalidator).evictUser(userId, List.of(10L, 11L));
     }
 
     @Test
@@ -135,6 +158,7 @@ class AdminServiceImplTest {
         verify(userRepository).findById(userId);
         verify(userRepository).existsByEmail("jane@example.com");
         verify(userRepository).save(existingUser);
+        verify(tokenRevocationService).revokeTokens(userId);
         assertEquals("Jane", result.getFirstName());
     }
 
@@ -161,6 +185,7 @@ class AdminServiceImplTest {
         verify(userRepository).findById(userId);
         verify(userRepository).save(existingUser);
         verify(userRepository, never()).existsByEmail(any());
+        verify(tokenRevocationService, never()).revokeTokens(any());
     }
 
     @Test
@@ -204,4 +229,20 @@ class AdminServiceImplTest {
         verify(userRepository).save(existingUser);
         verify(userRepository, never()).existsByEmail(any());
     }
-}
\ No newline at end of file
+
+    @Test
+    void recountBalance_ExistingUser_RecountsStoredTotal() {
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(userBalanceStore.recount(1L)).thenReturn(new BigDecimal("75.00"));
+
+        assertEquals(new BigDecimal("75.00"), adminService.recountBalance(1L));
+    }
+
+    @Test
+    void recountBalance_UnknownUser_ThrowsNotFoundException() {
+        when(userRepository.existsById(999L)).thenReturn(false);
+
+        assertThrows(NotFoundException.class, () -> adminService.recountBalance(999L));
+        verify(userBalanceStore, never()).recount(any());
+    }
+}
@@ -0,0 +1,163 @@
+package com.bankcards.service.impl;
+
+import com.bankcards.dto.CardDto;
+import com.bankcards.dto.CardFilter;
+import com.bankcards.dto.CursorPageDto;
+import com.bankcards.entity.Role;
+import com.bankcards.entity.User;
+import com.bankcards.repository.CardRepository;
+import com.bankcards.repository.UserRepository;
+import com.bankcards.service.AdminCardService;
+import com.bankcards.service.UserCardService;
+import com.bankcards.util.CardGenerator;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Counts the JDBC statements behind one listing page with Hibernate statistics: rows and owner names come
+ * from a single select, with at most one extra count query for {@link Page} responses.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:bankcards-statement-count;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+                + "DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=warn"
+})
+@ActiveProfiles("test")
+@WithMockUser(roles = "ADMIN")
+class CardListingStatementCountTest {
+    private static final int USERS = 5;
+    private static final int CARDS_PER_USER = 30;
+    private static final int PAGE_SIZE = 100;
+
+    @Autowired
+    private AdminCardService adminCardService;
+
+    @Autowired
+    private UserCardService userCardService;
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CardGenerator cardGenerator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private List<User> users;
+
+    @BeforeEach
+    void setUp() {
+        users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            User user = new User();
+            user.setFirstName("Owner" + i);
+            user.setLastName("Listing");
+            user.setEmail(UUID.randomUUID() + "@test.test");
+            user.setPassword("password");
+            user.setRoles(Set.of(Role.ROLE_USER));
+            user = userRepository.save(user);
+            users.add(user);
+            for (int j = 0; j < CARDS_PER_USER; j++) {
+                cardRepository.save(cardGenerator.generateCard(user));
+            }
+        }
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        users.forEach(user -> {
+            jdbcTemplate.update("DELETE FROM cards WHERE user_id = ?", user.getId());
+            userRepository.deleteById(user.getId());
+        });
+    }
+
+    @Test
+    void getAllCards_FullPage_RunsSelectAndCountOnly() {
+        Page<CardDto> page = adminCardService.getAllCards(0, PAGE_SIZE, new CardFilter());
+
+        assertEquals(PAGE_SIZE, page.getContent().size());
+        assertTrue(page.getContent().stream().allMatch(card -> card.getOwnerName().endsWith(" Listing")));
+        assertStatements(2);
+    }
+
+    @Test
+    void getAllCardsSlice_FullPage_RunsSingleSelect() {
+        Slice<CardDto> slice = adminCardService.getAllCardsSlice(0, PAGE_SIZE, new CardFilter());
+
+        assertEquals(PAGE_SIZE, slice.getContent().size());
+        assertTrue(slice.hasNext());
+        assertStatements(1);
+    }
+
+    @Test
+    void getAllCardsByCursor_FullPage_RunsSingleSelect() {
+        CursorPageDto<CardDto> page = adminCardService.getAllCardsByCursor(null, PAGE_SIZE, new CardFilter());
+
+        assertEquals(PAGE_SIZE, page.getContent().size());
+        assertStatements(1);
+    }
+
+    @Test
+    void getCardsByUser_RunsExistsCheckAndSelect() {
+        Page<CardDto> page = adminCardService.getCardsByUser(users.get(0).getId(), 0, PAGE_SIZE);
+
+        assertEquals(CARDS_PER_USER, page.getContent().size());
+        assertStatements(2);
+    }
+
+    @Test
+    void getUserCards_SearchByOwnerName_RunsSingleSelect() {
+        CardFilter filter = new CardFilter();
+        filter.setSearch("owner1");
+
+        Page<CardDto> page = userCardService.getUserCards(users.get(1).getId(), 0, PAGE_SIZE, filter);
+
+        assertEquals(CARDS_PER_USER, page.getContent().size());
+        assertTrue(page.getContent().stream().allMatch(card -> card.getOwnerName().equals("Owner1 Listing")));
+        assertStatements(1);
+    }
+
+    @Test
+    void getUserCardsByCursor_RunsSingleSelect() {
+        CursorPageDto<CardDto> page = userCardService.getUserCardsByCursor(users.get(2).getId(), null, 10, null);
+
+        assertEquals(10, page.getContent().size());
+        assertTrue(page.isHasNext());
+        assertStatements(1);
+    }
+
+    private void assertStatements(long expected) {
+        assertEquals(expected, statistics.getPrepareStatementCount(), "prepared statements");
+        assertEquals(0, statistics.getEntityLoadCount(), "entities loaded");
+        assertEquals(0, statistics.getCollectionLoadCount(), "collections loaded");
+    }
+}
@@ -0,0 +1,167 @@
+package com.bankcards.service.impl;
+
+import com.bankcards.config.EncryptionProperties;
+import com.bankcards.dto.ReEncryptionStatusDto;
+import com.bankcards.dto.ReEncryptionStatusDto.ReEncryptionState;
+import com.bankcards.entity.Card;
+import com.bankcards.entity.Role;
+import com.bankcards.entity.User;
+import com.bankcards.repository.CardRepository;
+import com.bankcards.repository.UserRepository;
+import com.bankcards.service.CardReEncryptionService;
+import com.bankcards.util.CardGenerator;
+import com.bankcards.util.EncryptionUtil;
+import com.bankcards.util.cipher.AesGcmCipherEngine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.encrypt.Encryptors;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@WithMockUser(roles = "ADMIN")
+class CardReEncryptionServiceImplTest {
+    @Autowired
+    private CardReEncryptionService cardReEncryptionService;
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CardGenerator cardGenerator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EncryptionProperties encryptionProperties;
+
+    @Autowired
+    private EntityCacheInvalidator entityCacheInvalidator;
+
+    private User user;
+    private List<Card> cards;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setFirstName("Key");
+        user.setLastName("Rotation");
+        user.setEmail(UUID.randomUUID() + "@test.test");
+        user.setPassword("password");
+        user.setRoles(Set.of(Role.ROLE_USER));
+        user = userRepository.save(user);
+
+        cards = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            cards.add(cardRepository.save(cardGenerator.generateCard(user)));
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        awaitCompletion();
+        jdbcTemplate.update("DELETE FROM cards WHERE user_id = ?", user.getId());
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    void start_ValuesUnderOldKeys_AreRewrittenWithActiveKey() throws InterruptedException {
+        AesGcmCipherEngine previousKey = new AesGcmCipherEngine("k0",
+                AesGcmCipherEngine.deriveKey("previousSecretKey", "k0"));
+        storeCardNumber(cards.get(0), previousKey.encrypt(cards.get(0).getCardNumber()));
+        storeCardNumber(cards.get(1), Encryptors.text("mySuperSecretKey123", "deadbeef")
+                .encrypt(cards.get(1).getCardNumber()));
+
+        cardReEncryptionService.start();
+        ReEncryptionStatusDto status = awaitCompletion();
+
+        assertEquals(ReEncryptionState.COMPLETED, status.getState());
+        assertTrue(status.getReEncryptedCards() >= 2);
+        for (Card card : cards) {
+            String stored = loadCardNumber(card);
+            assertTrue(stored.startsWith("k1:"), stored);
+            assertEquals(card.getCardNumber(), EncryptionUtil.decrypt(stored));
+        }
+    }
+
+    @Test
+    void start_UnknownKeyId_Fails() throws InterruptedException {
+        storeCardNumber(cards.get(0), "k9:AAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA");
+
+        cardReEncryptionService.start();
+        ReEncryptionStatusDto status = awaitCompletion();
+
+        assertEquals(ReEncryptionState.FAILED, status.getState());
+        assertEquals("Unknown encryption key id: k9", status.getError());
+    }
+
+    @Test
+    void start_CountFails_StaysIdle() {
+        JdbcTemplate failingJdbcTemplate = mock(JdbcTemplate.class);
+        when(failingJdbcTemplate.queryForObject("SELECT COUNT(*) FROM cards", Long.class))
+                .thenThrow(new QueryTimeoutException("count timed out"));
+        CardReEncryptionServiceImpl service = new CardReEncryptionServiceImpl(
+                failingJdbcTemplate, transactionTemplate, encryptionProperties, entityCacheInvalidator);
+
+        assertThrows(QueryTimeoutException.class, service::start);
+
+        assertEquals(ReEncryptionState.IDLE, service.getStatus().getState());
+        service.shutdown();
+    }
+
+    @Test
+    void start_CoordinatorShutDown_FailsInsteadOfStayingRunning() {
+        CardReEncryptionServiceImpl service = new CardReEncryptionServiceImpl(
+                jdbcTemplate, transactionTemplate, encryptionProperties, entityCacheInvalidator);
+        service.shutdown();
+
+        ReEncryptionStatusDto status = service.start();
+
+        assertEquals(ReEncryptionState.FAILED, status.getState());
+        assertNotNull(status.getFinishedAt());
+        assertEquals(ReEncryptionState.FAILED, service.start().getState());
+    }
+
+    private void storeCardNumber(Card card, String encrypted) {
+        jdbcTemplate.update("UPDATE cards SET card_number = ? WHERE id = ?", encrypted, card.getId());
+    }
+
+    private String loadCardNumber(Card card) {
+        return jdbcTemplate.queryForObject("SELECT card_number FROM cards WHERE id = ?", String.class, card.getId());
+    }
+
+    private ReEncryptionStatusDto awaitCompletion() throws InterruptedException {
+        for (int i = 0; i < 300; i++) {
+            ReEncryptionStatusDto status = cardReEncryptionService.getStatus();
+            if (status.getState() != ReEncryptionState.RUNNING) {
+                return status;
+            }
+            Thread.sleep(100);
+        }
+        fail("Card re-encryption did not finish");
+        return null;
+    }
+}
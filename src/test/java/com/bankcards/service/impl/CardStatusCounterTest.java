@@ -0,0 +1,88 @@
+package com.bankcards.service.impl;
+
+import com.bankcards.dto.CardCountsDto;
+import com.bankcards.entity.CardStatus;
+import com.bankcards.repository.CardRepository;
+import com.bankcards.repository.CardStatusCountView;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CardStatusCounterTest {
+    @Mock
+    private CardRepository cardRepository;
+
+    @InjectMocks
+    private CardStatusCounter cardStatusCounter;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void refresh_LoadsGroupedCountsAndZeroesMissingStatuses() {
+        when(cardRepository.countGroupByStatus()).thenReturn(List.of(
+                view(CardStatus.ACTIVE, 5L), view(CardStatus.BLOCKED, 2L)));
+
+        cardStatusCounter.refresh();
+        CardCountsDto counts = cardStatusCounter.getCounts();
+
+        assertEquals(5L, counts.getByStatus().get(CardStatus.ACTIVE));
+        assertEquals(2L, counts.getByStatus().get(CardStatus.BLOCKED));
+        assertEquals(0L, counts.getByStatus().get(CardStatus.EXPIRED));
+        assertEquals(7L, counts.getTotal());
+        assertNotNull(counts.getRefreshedAt());
+    }
+
+    @Test
+    void statusChanged_MovesCountBetweenStatuses() {
+        cardStatusCounter.cardCreated(CardStatus.ACTIVE);
+        cardStatusCounter.cardCreated(CardStatus.ACTIVE);
+
+        cardStatusCounter.statusChanged(CardStatus.ACTIVE, CardStatus.BLOCKED);
+        CardCountsDto counts = cardStatusCounter.getCounts();
+
+        assertEquals(1L, counts.getByStatus().get(CardStatus.ACTIVE));
+        assertEquals(1L, counts.getByStatus().get(CardStatus.BLOCKED));
+        assertEquals(2L, counts.getTotal());
+    }
+
+    @Test
+    void cardCreated_InsideTransaction_AppliedOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        cardStatusCounter.cardCreated(CardStatus.ACTIVE);
+        assertEquals(0L, cardStatusCounter.getCounts().getTotal());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(1L, cardStatusCounter.getCounts().getTotal());
+    }
+
+    private CardStatusCountView view(CardStatus status, Long count) {
+        return new CardStatusCountView() {
+            @Override
+            public CardStatus getStatus() {
+                return status;
+            }
+
+            @Override
+            public Long getCount() {
+                return count;
+            }
+        };
+    }
+}
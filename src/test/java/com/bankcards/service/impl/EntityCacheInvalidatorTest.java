@@ -0,0 +1,150 @@
+package com.bankcards.service.impl;
+
+import com.bankcards.dto.UpdateUserDto;
+import com.bankcards.entity.Card;
+import com.bankcards.entity.CardStatus;
+import com.bankcards.entity.Role;
+import com.bankcards.entity.User;
+import com.bankcards.repository.CardRepository;
+import com.bankcards.repository.UserRepository;
+import com.bankcards.service.AdminCardService;
+import com.bankcards.service.AdminService;
+import com.bankcards.util.CardGenerator;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:bankcards-l2c;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=warn"
+})
+@ActiveProfiles("test")
+@WithMockUser(roles = "ADMIN")
+class EntityCacheInvalidatorTest {
+    @Autowired
+    private EntityCacheInvalidator entityCacheInvalidator;
+
+    @Autowired
+    private AdminService adminService;
+
+    @Autowired
+    private AdminCardService adminCardService;
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CardGenerator cardGenerator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User user;
+    private Card card;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setFirstName("Cached");
+        user.setLastName("Owner");
+        user.setEmail(UUID.randomUUID() + "@test.test");
+        user.setPassword("password");
+        user.setRoles(Set.of(Role.ROLE_USER));
+        user = userRepository.save(user);
+
+        Card generated = cardGenerator.generateCard(user);
+        generated.setBalance(BigDecimal.ZERO);
+        card = cardRepository.save(generated);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM cards WHERE user_id = ?", user.getId());
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", user.getId());
+        entityCacheInvalidator.evictUser(user.getId(), List.of(card.getId()));
+    }
+
+    @Test
+    void findById_RepeatedRead_ServedFromSecondLevelCache() {
+        cardRepository.findById(card.getId()).orElseThrow();
+        long hits = statistics().getCacheRegionStatistics(Card.CACHE_REGION).getHitCount();
+
+        cardRepository.findById(card.getId()).orElseThrow();
+
+        assertEquals(hits + 1, statistics().getCacheRegionStatistics(Card.CACHE_REGION).getHitCount());
+    }
+
+    @Test
+    void deleteUser_OwnerAndCards_AreEvicted() {
+        userRepository.findById(user.getId()).orElseThrow();
+        cardRepository.findById(card.getId()).orElseThrow();
+        assertTrue(entityManagerFactory.getCache().contains(User.class, user.getId()));
+        assertTrue(entityManagerFactory.getCache().contains(Card.class, card.getId()));
+
+        adminService.deleteUser(user.getId());
+
+        assertFalse(entityManagerFactory.getCache().contains(User.class, user.getId()));
+        assertFalse(entityManagerFactory.getCache().contains(Card.class, card.getId()));
+        assertTrue(userRepository.findById(user.getId()).isEmpty());
+    }
+
+    @Test
+    void updateUser_RolesChanged_NextReadSeesNewRoles() {
+        assertEquals(Set.of(Role.ROLE_USER), userRepository.findById(user.getId()).orElseThrow().getRoles());
+
+        UpdateUserDto update = new UpdateUserDto();
+        update.setRoles(new HashSet<>(Set.of(Role.ROLE_USER, Role.ROLE_ADMIN)));
+        adminService.updateUser(user.getId(), update);
+
+        assertEquals(Set.of(Role.ROLE_USER, Role.ROLE_ADMIN),
+                userRepository.findById(user.getId()).orElseThrow().getRoles());
+        assertEquals(Set.of(Role.ROLE_USER, Role.ROLE_ADMIN),
+                userRepository.findByEmail(user.getEmail()).orElseThrow().getRoles());
+    }
+
+    @Test
+    void updateCardStatus_NextReadSeesNewStatus() {
+        assertEquals(CardStatus.ACTIVE, cardRepository.findById(card.getId()).orElseThrow().getStatus());
+
+        adminCardService.updateCardStatus(card.getId(), CardStatus.BLOCKED);
+
+        assertEquals(CardStatus.BLOCKED, cardRepository.findById(card.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void evictCards_CardNumberRewrittenOverJdbc_NextReadSeesNewValue() {
+        cardRepository.findById(card.getId()).orElseThrow();
+        jdbcTemplate.update("UPDATE cards SET last_four = '0000' WHERE id = ?", card.getId());
+
+        entityCacheInvalidator.evictCards(List.of(card.getId()));
+
+        assertEquals("0000", cardRepository.findById(card.getId()).orElseThrow().getLastFour());
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
@@ -0,0 +1,267 @@
+package com.bankcards.service.impl;
+
+import com.bankcards.config.TransferProperties;
+import com.bankcards.dto.BatchTransferResponse;
+import com.bankcards.dto.TransferRequest;
+import com.bankcards.dto.TransferResponse;
+import com.bankcards.entity.Card;
+import com.bankcards.entity.Role;
+import com.bankcards.entity.User;
+import com.bankcards.exception.TransferConflictException;
+import com.bankcards.exception.ValidationException;
+import com.bankcards.repository.CardRepository;
+import com.bankcards.repository.TransferRepository;
+import com.bankcards.repository.UserRepository;
+import com.bankcards.service.TransferService;
+import com.bankcards.util.CardGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TransferServiceConcurrencyTest {
+    private static final int CARDS = 6;
+    private static final int TRANSFERS = 400;
+    private static final int THREADS = 32;
+    private static final BigDecimal INITIAL_BALANCE = new BigDecimal("1000.00");
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private TransferProperties transferProperties;
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransferRepository transferRepository;
+
+    @Autowired
+    private CardGenerator cardGenerator;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private User user;
+    private List<Long> cardIds;
+    private TransferProperties.LockingMode defaultLockingMode;
+    private int defaultMaxAttempts;
+    private long ledgerSizeBefore;
+
+    @BeforeEach
+    void setUp() {
+        defaultLockingMode = transferProperties.getLockingMode();
+        defaultMaxAttempts = transferProperties.getRetry().getMaxAttempts();
+
+        user = new User();
+        user.setFirstName("Stress");
+        user.setLastName("Test");
+        user.setEmail(UUID.randomUUID() + "@test.test");
+        user.setPassword("password");
+        user.setRoles(Set.of(Role.ROLE_USER));
+        user = userRepository.save(user);
+
+        cardIds = new ArrayList<>();
+        for (int i = 0; i < CARDS; i++) {
+            Card card = cardGenerator.generateCard(user);
+            card.setBalance(INITIAL_BALANCE);
+            cardIds.add(cardRepository.save(card).getId());
+        }
+        ledgerSizeBefore = transferRepository.count();
+    }
+
+    @AfterEach
+    void tearDown() {
+        transferProperties.setLockingMode(defaultLockingMode);
+        transferProperties.getRetry().setMaxAttempts(defaultMaxAttempts);
+        cardRepository.deleteAllById(cardIds);
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    void pessimisticLocking_ParallelCrossingTransfers_ConserveBalances() throws Exception {
+        transferProperties.setLockingMode(TransferProperties.LockingMode.PESSIMISTIC);
+
+        List<TransferRequest> completed = runParallelTransfers();
+
+        assertEquals(TRANSFERS, completed.size());
+        assertBalancesMatch(completed);
+    }
+
+    @Test
+    void optimisticLocking_ParallelCrossingTransfers_ConserveBalances() throws Exception {
+        transferProperties.setLockingMode(TransferProperties.LockingMode.OPTIMISTIC);
+        transferProperties.getRetry().setMaxAttempts(20);
+
+        List<TransferRequest> completed = runParallelTransfers();
+
+        assertFalse(completed.isEmpty());
+        assertBalancesMatch(completed);
+    }
+
+    @Test
+    void atomicUpdate_ParallelCrossingTransfers_ConserveBalances() throws Exception {
+        transferProperties.setLockingMode(TransferProperties.LockingMode.ATOMIC_UPDATE);
+
+        List<TransferRequest> completed = runParallelTransfers();
+
+        assertEquals(TRANSFERS, completed.size());
+        assertBalancesMatch(completed);
+    }
+
+    @Test
+    void idempotencyKey_SimultaneousDuplicates_ExecuteOnce() throws Exception {
+        TransferRequest request = new TransferRequest(cardIds.get(0), cardIds.get(1), new BigDecimal("10.00"));
+        String idempotencyKey = UUID.randomUUID().toString();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<TransferResponse>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return transferService.transferBetweenUserCards(request, user.getId(), idempotencyKey);
+                }));
+            }
+            start.countDown();
+
+            Set<Long> transferIds = new HashSet<>();
+            for (Future<TransferResponse> future : futures) {
+                transferIds.add(future.get(60, TimeUnit.SECONDS).getId());
+            }
+            assertEquals(1, transferIds.size());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertBalancesMatch(List.of(request));
+    }
+
+    @Test
+    void idempotencyKey_ReusedWithOtherSourceCardAfterCacheLoss_IsRejected() {
+        String idempotencyKey = UUID.randomUUID().toString();
+        TransferRequest first = new TransferRequest(cardIds.get(0), cardIds.get(1), new BigDecimal("10.00"));
+        TransferRequest second = new TransferRequest(cardIds.get(2), cardIds.get(1), new BigDecimal("10.00"));
+        transferService.transferBetweenUserCards(first, user.getId(), idempotencyKey);
+        // A fresh in-memory store, as after the cache entry expires or on another instance.
+        TransferService otherInstance = new TransferServiceImpl(cardRepository, transferRepository, transferProperties,
+                new TransferIdempotencyStore(transferProperties), transactionTemplate);
+
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> otherInstance.transferBetweenUserCards(second, user.getId(), idempotencyKey));
+
+        assertEquals(String.format("Idempotency key %s was already used for a different transfer", idempotencyKey),
+                exception.getMessage());
+        assertBalancesMatch(List.of(first));
+    }
+
+    @Test
+    void batchTransfers_ParallelWithSingleTransfers_ConserveBalances() throws Exception {
+        transferProperties.setLockingMode(TransferProperties.LockingMode.PESSIMISTIC);
+        List<TransferRequest> batch = new ArrayList<>();
+        for (int i = 0; i < CARDS; i++) {
+            batch.add(new TransferRequest(cardIds.get(i), cardIds.get((i + 1) % CARDS), new BigDecimal("7.00")));
+        }
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<BatchTransferResponse> batchResult = executor.submit(
+                    () -> transferService.transferBatch(batch, user.getId()));
+            List<TransferRequest> completed = new ArrayList<>(runParallelTransfers());
+
+            BatchTransferResponse response = batchResult.get(60, TimeUnit.SECONDS);
+            assertEquals(CARDS, response.getSucceeded());
+            completed.addAll(batch);
+            assertBalancesMatch(completed);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<TransferRequest> runParallelTransfers() throws Exception {
+        Random random = new Random(42);
+        List<TransferRequest> requests = new ArrayList<>();
+        for (int i = 0; i < TRANSFERS; i++) {
+            int source = random.nextInt(CARDS);
+            int target = (source + 1 + random.nextInt(CARDS - 1)) % CARDS;
+            requests.add(new TransferRequest(cardIds.get(source), cardIds.get(target),
+                    BigDecimal.valueOf(1 + random.nextInt(5))));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<TransferRequest>> futures = new ArrayList<>();
+            for (TransferRequest request : requests) {
+                Callable<TransferRequest> task = () -> {
+                    start.await();
+                    try {
+                        transferService.transferBetweenUserCards(request, user.getId(), null);
+                        return request;
+                    } catch (TransferConflictException e) {
+                        return null;
+                    }
+                };
+                futures.add(executor.submit(task));
+            }
+            start.countDown();
+
+            List<TransferRequest> completed = new ArrayList<>();
+            for (Future<TransferRequest> future : futures) {
+                TransferRequest result = future.get(60, TimeUnit.SECONDS);
+                if (result != null) {
+                    completed.add(result);
+                }
+            }
+            return completed;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void assertBalancesMatch(List<TransferRequest> completed) {
+        Map<Long, BigDecimal> expected = new HashMap<>();
+        cardIds.forEach(id -> expected.put(id, INITIAL_BALANCE));
+        for (TransferRequest request : completed) {
+            expected.merge(request.getSourceCardId(), request.getAmount().negate(), BigDecimal::add);
+            expected.merge(request.getTargetCardId(), request.getAmount(), BigDecimal::add);
+        }
+
+        BigDecimal total = BigDecimal.ZERO;
+        for (Card card : cardRepository.findAllById(cardIds)) {
+            assertEquals(0, expected.get(card.getId()).compareTo(card.getBalance()),
+                    "Unexpected balance for card " + card.getId());
+            total = total.add(card.getBalance());
+        }
+        assertEquals(0, INITIAL_BALANCE.multiply(BigDecimal.valueOf(CARDS)).compareTo(total));
+        assertEquals(completed.size(), transferRepository.count() - ledgerSizeBefore);
+    }
+}
@@ -1,29 +1,47 @@
 package com.bankcards.service.impl;
 
+import com.bankcards.config.TransferProperties;
+import com.bankcards.dto.BatchTransferItemResult;
+import com.bankcards.dto.BatchTransferResponse;
 import com.bankcards.dto.TransferRequest;
 import com.bankcards.dto.TransferResponse;
 import com.bankcards.entity.Card;
 import com.bankcards.entity.CardStatus;
+import com.bankcards.entity.Transfer;
 import com.bankcards.entity.User;
 import com.bankcards.exception.CardNotActiveException;
 import com.bankcards.exception.InsufficientFundsException;
 import com.bankcards.exception.NotFoundException;
 import com.bankcards.exception.SameCardTransferException;
+import com.bankcards.exception.TransferConflictException;
+import com.bankcards.exception.ValidationException;
+import com.bankcards.repository.CardBalanceView;
 import com.bankcards.repository.CardRepository;
+import com.bankcards.repository.TransferRepository;
 import com.bankcards.exception.InvalidTransferAmountException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -34,7 +52,14 @@ class TransferServiceImplTest {
     @Mock
     private CardRepository cardRepository;
 
-    @InjectMocks
+    @Mock
+    private TransferRepository transferRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private TransferProperties transferProperties;
+
     private TransferServiceImpl transferService;
 
     private User user;
@@ -44,6 +69,17 @@ class TransferServiceImplTest {
 
     @BeforeEach
     void setUp() {
+        transferProperties = new TransferProperties();
+        transferProperties.getRetry().setBackoff(Duration.ZERO);
+        transferService = new TransferServiceImpl(cardRepository, transferRepository, transferProperties,
+                new TransferIdempotencyStore(transferProperties), transactionTemplate);
+        lenient().when(transferRepository.save(any(Transfer.class))).thenAnswer(invocation -> {
+            Transfer transfer = invocation.getArgument(0);
+            transfer.setId(100L);
+            return transfer;
+        });
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(this::executeInTransaction);
+
         user = new User();
         user.setId(1L);
 
@@ -67,12 +103,13 @@ class TransferServiceImplTest {
 
     @Test
     void transferBetweenUserCards_Success() {
-        when(cardRepository.findByIdAndEmail(1L, user.getEmail())).thenReturn(Optional.of(sourceCard));
-        when(cardRepository.findByIdAndEmail(2L, user.getEmail())).thenReturn(Optional.of(targetCard));
+        when(cardRepository.findByIdAndUserIdForUpdate(1L, user.getId())).thenReturn(Optional.of(sourceCard));
+        when(cardRepository.findByIdAndUserIdForUpdate(2L, user.getId())).thenReturn(Optional.of(targetCard));
         when(cardRepository.save(any(Card.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
 
-        TransferResponse response = transferService.transferBetweenUserCards(request, user.getEmail());
+        TransferResponse response = transferService.transferBetweenUserCards(request, user.getId(), null);
+        assertEquals(100L, response.getId());
         assertEquals(1L, response.getSourceCardId());
         assertEquals(2L, response.getTargetCardId());
         assertEquals(new BigDecimal("200.00"), response.getAmount());
@@ -82,92 +119,326 @@ class TransferServiceImplTest {
         assertEquals(new BigDecimal("700.00"), targetCard.getBalance());
 
         verify(cardRepository, times(2)).save(any(Card.class));
+        verify(transferRepository).save(argThat(transfer ->
+                transfer.getSourceCardId().equals(1L)
+                        && transfer.getTargetCardId().equals(2L)
+                        && transfer.getAmount().equals(new BigDecimal("200.00"))));
     }
 
     @Test
     void transferBetweenUserCards_SourceCardNotFound_ThrowsNotFoundException() {
-        when(cardRepository.findByIdAndEmail(1L, user.getEmail())).thenReturn(Optional.empty());
+        when(cardRepository.findByIdAndUserIdForUpdate(1L, user.getId())).thenReturn(Optional.empty());
 
         NotFoundException exception = assertThrows(NotFoundException.class,
-                () -> transferService.transferBetweenUserCards(request, user.getEmail()));
+                () -> transferService.transferBetweenUserCards(request, user.getId(), null));
         assertEquals("Source card not found: 1", exception.getMessage());
-        verify(cardRepository).findByIdAndEmail(1L, user.getEmail());
-        verify(cardRepository, never()).findByIdAndEmail(2L, user.getEmail());
+        verify(cardRepository).findByIdAndUserIdForUpdate(1L, user.getId());
+        verify(cardRepository, never()).findByIdAndUserIdForUpdate(2L, user.getId());
     }
 
     @Test
     void transferBetweenUserCards_TargetCardNotFound_ThrowsNotFoundException() {
-        when(cardRepository.findByIdAndEmail(1L, user.getEmail())).thenReturn(Optional.of(sourceCard));
-        when(cardRepository.findByIdAndEmail(2L, user.getEmail())).thenReturn(Optional.empty());
+        when(cardRepository.findByIdAndUserIdForUpdate(1L, user.getId())).thenReturn(Optional.of(sourceCard));
+        when(cardRepository.findByIdAndUserIdForUpdate(2L, user.getId())).thenReturn(Optional.empty());
 
         NotFoundException exception = assertThrows(NotFoundException.class,
-                () -> transferService.transferBetweenUserCards(request, user.getEmail()));
+                () -> transferService.transferBetweenUserCards(request, user.getId(), null));
         assertEquals("Target card not found: 2", exception.getMessage());
     }
 
     @Test
     void transferBetweenUserCards_SameCards_ThrowsSameCardTransferException() {
         request.setTargetCardId(1L);
-        when(cardRepository.findByIdAndEmail(1L, user.getEmail())).thenReturn(Optional.of(sourceCard));
+        when(cardRepository.findByIdAndUserIdForUpdate(1L, user.getId())).thenReturn(Optional.of(sourceCard));
 
         SameCardTransferException exception = assertThrows(SameCardTransferException.class,
-                () -> transferService.transferBetweenUserCards(request, user.getEmail()));
+                () -> transferService.transferBetweenUserCards(request, user.getId(), null));
         assertEquals("Source and target cards must be different", exception.getMessage());
     }
 
     @Test
     void transferBetweenUserCards_SourceNotActive_ThrowsCardNotActiveException() {
         sourceCard.setStatus(CardStatus.BLOCKED);
-        when(cardRepository.findByIdAndEmail(1L, user.getEmail())).thenReturn(Optional.of(sourceCard));
-        when(cardRepository.findByIdAndEmail(2L, user.getEmail())).thenReturn(Optional.of(targetCard));
+        when(cardRepository.findByIdAndUserIdForUpdate(1L, user.getId())).thenReturn(Optional.of(sourceCard));
+        when(cardRepository.findByIdAndUserIdForUpdate(2L, user.getId())).thenReturn(Optional.of(targetCard));
 
         CardNotActiveException exception = assertThrows(CardNotActiveException.class,
-                () -> transferService.transferBetweenUserCards(request, user.getEmail()));
+                () -> transferService.transferBetweenUserCards(request, user.getId(), null));
         assertEquals("Both cards must be active", exception.getMessage());
     }
 
     @Test
     void transferBetweenUserCards_TargetNotActive_ThrowsCardNotActiveException() {
         targetCard.setStatus(CardStatus.BLOCKED);
-        when(cardRepository.findByIdAndEmail(1L, user.getEmail())).thenReturn(Optional.of(sourceCard));
-        when(cardRepository.findByIdAndEmail(2L, user.getEmail())).thenReturn(Optional.of(targetCard));
+        when(cardRepository.findByIdAndUserIdForUpdate(1L, user.getId())).thenReturn(Optional.of(sourceCard));
+        when(cardRepository.findByIdAndUserIdForUpdate(2L, user.getId())).thenReturn(Optional.of(targetCard));
 
         CardNotActiveException exception = assertThrows(CardNotActiveException.class,
-                () -> transferService.transferBetweenUserCards(request, user.getEmail()));
+                () -> transferService.transferBetweenUserCards(request, user.getId(), null));
         assertEquals("Both cards must be active", exception.getMessage());
     }
 
     @Test
     void transferBetweenUserCards_InsufficientFunds_ThrowsInsufficientFundsException() {
         sourceCard.setBalance(new BigDecimal("100.00"));
-        when(cardRepository.findByIdAndEmail(1L, user.getEmail())).thenReturn(Optional.of(sourceCard));
-        when(cardRepository.findByIdAndEmail(2L, user.getEmail())).thenReturn(Optional.of(targetCard));
+        when(cardRepository.findByIdAndUserIdForUpdate(1L, user.getId())).thenReturn(Optional.of(sourceCard));
+        when(cardRepository.findByIdAndUserIdForUpdate(2L, user.getId())).thenReturn(Optional.of(targetCard));
 
         InsufficientFundsException exception = assertThrows(InsufficientFundsException.class,
-                () -> transferService.transferBetweenUserCards(request, user.getEmail()));
+                () -> transferService.transferBetweenUserCards(request, user.getId(), null));
         assertEquals("Insufficient funds. Available: 100.00, Required: 200.00", exception.getMessage());
+        verify(transferRepository, never()).save(any());
     }
 
     @Test
     void transferBetweenUserCards_ZeroAmount_ThrowsInvalidTransferAmountException() {
         request.setAmount(BigDecimal.ZERO);
-        when(cardRepository.findByIdAndEmail(1L, user.getEmail())).thenReturn(Optional.of(sourceCard));
-        when(cardRepository.findByIdAndEmail(2L, user.getEmail())).thenReturn(Optional.of(targetCard));
+        when(cardRepository.findByIdAndUserIdForUpdate(1L, user.getId())).thenReturn(Optional.of(sourceCard));
+        when(cardRepository.findByIdAndUserIdForUpdate(2L, user.getId())).thenReturn(Optional.of(targetCard));
 
         InvalidTransferAmountException exception = assertThrows(InvalidTransferAmountException.class,
-                () -> transferService.transferBetweenUserCards(request, user.getEmail()));
+                () -> transferService.transferBetweenUserCards(request, user.getId(), null));
         assertEquals("Transfer amount must be positive", exception.getMessage());
     }
 
     @Test
     void transferBetweenUserCards_NegativeAmount_ThrowsInvalidTransferAmountException() {
         request.setAmount(new BigDecimal("-50.00"));
-        when(cardRepository.findByIdAndEmail(1L, user.getEmail())).thenReturn(Optional.of(sourceCard));
-        when(cardRepository.findByIdAndEmail(2L, user.getEmail())).thenReturn(Optional.of(targetCard));
+        when(cardRepository.findByIdAndUserIdForUpdate(1L, user.getId())).thenReturn(Optional.of(sourceCard));
+        when(cardRepository.findByIdAndUserIdForUpdate(2L, user.getId())).thenReturn(Optional.of(targetCard));
 
         InvalidTransferAmountException exception = assertThrows(InvalidTransferAmountException.class,
-                () -> transferService.transferBetweenUserCards(request, user.getEmail()));
+                () -> transferService.transferBetweenUserCards(request, user.getId(), null));
         assertEquals("Transfer amount must be positive", exception.getMessage());
     }
 
-}
\ No newline at end of file
+    @Test
+    void transferBetweenUserCards_SourceIdGreaterThanTarget_LocksCardsInIdOrder() {
+        request.setSourceCardId(2L);
+        request.setTargetCardId(1L);
+        targetCard.setBalance(new BigDecimal("1000.00"));
+        when(cardRepository.findByIdAndUserIdForUpdate(1L, user.getId())).thenReturn(Optional.of(sourceCard));
+        when(cardRepository.findByIdAndUserIdForUpdate(2L, user.getId())).thenReturn(Optional.of(targetCard));
+
+        TransferResponse response = transferService.transferBetweenUserCards(request, user.getId(), null);
+
+        assertEquals(2L, response.getSourceCardId());
+        assertEquals(1L, response.getTargetCardId());
+        InOrder inOrder = inOrder(cardRepository);
+        inOrder.verify(cardRepository).findByIdAndUserIdForUpdate(1L, user.getId());
+        inOrder.verify(cardRepository).findByIdAndUserIdForUpdate(2L, user.getId());
+    }
+
+    @Test
+    void transferBetweenUserCards_OptimisticMode_LoadsCardsWithoutLocks() {
+        transferProperties.setLockingMode(TransferProperties.LockingMode.OPTIMISTIC);
+        when(cardRepository.findByIdAndUserId(1L, user.getId())).thenReturn(Optional.of(sourceCard));
+        when(cardRepository.findByIdAndUserId(2L, user.getId())).thenReturn(Optional.of(targetCard));
+
+        transferService.transferBetweenUserCards(request, user.getId(), null);
+
+        assertEquals(new BigDecimal("800.00"), sourceCard.getBalance());
+        assertEquals(new BigDecimal("700.00"), targetCard.getBalance());
+        verify(cardRepository, never()).findByIdAndUserIdForUpdate(any(), any());
+    }
+
+    @Test
+    void transferBetweenUserCards_OptimisticConflict_RetriesTransaction() {
+        transferProperties.setLockingMode(TransferProperties.LockingMode.OPTIMISTIC);
+        when(cardRepository.findByIdAndUserId(1L, user.getId())).thenReturn(Optional.of(sourceCard));
+        when(cardRepository.findByIdAndUserId(2L, user.getId())).thenReturn(Optional.of(targetCard));
+        doThrow(new ObjectOptimisticLockingFailureException(Card.class, 1L))
+                .doAnswer(this::executeInTransaction)
+                .when(transactionTemplate).execute(any());
+
+        TransferResponse response = transferService.transferBetweenUserCards(request, user.getId(), null);
+
+        assertEquals(new BigDecimal("200.00"), response.getAmount());
+        verify(transactionTemplate, times(2)).execute(any());
+    }
+
+    @Test
+    void transferBetweenUserCards_OptimisticConflictRetriesExhausted_ThrowsTransferConflictException() {
+        transferProperties.setLockingMode(TransferProperties.LockingMode.OPTIMISTIC);
+        doThrow(new ObjectOptimisticLockingFailureException(Card.class, 1L))
+                .when(transactionTemplate).execute(any());
+
+        assertThrows(TransferConflictException.class,
+                () -> transferService.transferBetweenUserCards(request, user.getId(), null));
+        verify(transactionTemplate, times(transferProperties.getRetry().getMaxAttempts())).execute(any());
+    }
+
+    @Test
+    void transferBetweenUserCards_AtomicUpdate_DebitsAndCreditsWithoutLoadingCards() {
+        transferProperties.setLockingMode(TransferProperties.LockingMode.ATOMIC_UPDATE);
+        when(cardRepository.debitActiveCard(1L, user.getId(), request.getAmount())).thenReturn(1);
+        when(cardRepository.creditActiveCard(2L, user.getId(), request.getAmount())).thenReturn(1);
+
+        TransferResponse response = transferService.transferBetweenUserCards(request, user.getId(), null);
+
+        assertEquals(1L, response.getSourceCardId());
+        assertEquals(2L, response.getTargetCardId());
+        InOrder inOrder = inOrder(cardRepository);
+        inOrder.verify(cardRepository).debitActiveCard(1L, user.getId(), request.getAmount());
+        inOrder.verify(cardRepository).creditActiveCard(2L, user.getId(), request.getAmount());
+        verify(cardRepository, never()).findByIdAndUserId(any(), any());
+        verify(cardRepository, never()).save(any());
+        verify(transferRepository).save(any(Transfer.class));
+    }
+
+    @Test
+    void transferBetweenUserCards_AtomicUpdateSourceIdGreaterThanTarget_CreditsFirst() {
+        transferProperties.setLockingMode(TransferProperties.LockingMode.ATOMIC_UPDATE);
+        request.setSourceCardId(2L);
+        request.setTargetCardId(1L);
+        when(cardRepository.creditActiveCard(1L, user.getId(), request.getAmount())).thenReturn(1);
+        when(cardRepository.debitActiveCard(2L, user.getId(), request.getAmount())).thenReturn(1);
+
+        transferService.transferBetweenUserCards(request, user.getId(), null);
+
+        InOrder inOrder = inOrder(cardRepository);
+        inOrder.verify(cardRepository).creditActiveCard(1L, user.getId(), request.getAmount());
+        inOrder.verify(cardRepository).debitActiveCard(2L, user.getId(), request.getAmount());
+    }
+
+    @Test
+    void transferBetweenUserCards_AtomicUpdateInsufficientFunds_ThrowsInsufficientFundsException() {
+        transferProperties.setLockingMode(TransferProperties.LockingMode.ATOMIC_UPDATE);
+        when(cardRepository.debitActiveCard(1L, user.getId(), request.getAmount())).thenReturn(0);
+        when(cardRepository.findBalanceByIdAndUserId(1L, user.getId()))
+                .thenReturn(Optional.of(balanceView(CardStatus.ACTIVE, new BigDecimal("100.00"))));
+
+        InsufficientFundsException exception = assertThrows(InsufficientFundsException.class,
+                () -> transferService.transferBetweenUserCards(request, user.getId(), null));
+        assertEquals("Insufficient funds. Available: 100.00, Required: 200.00", exception.getMessage());
+        verify(cardRepository, never()).creditActiveCard(any(), any(), any());
+    }
+
+    @Test
+    void transferBetweenUserCards_AtomicUpdateSourceBlocked_ThrowsCardNotActiveException() {
+        transferProperties.setLockingMode(TransferProperties.LockingMode.ATOMIC_UPDATE);
+        when(cardRepository.debitActiveCard(1L, user.getId(), request.getAmount())).thenReturn(0);
+        when(cardRepository.findBalanceByIdAndUserId(1L, user.getId()))
+                .thenReturn(Optional.of(balanceView(CardStatus.BLOCKED, new BigDecimal("1000.00"))));
+
+        CardNotActiveException exception = assertThrows(CardNotActiveException.class,
+                () -> transferService.transferBetweenUserCards(request, user.getId(), null));
+        assertEquals("Both cards must be active", exception.getMessage());
+    }
+
+    @Test
+    void transferBetweenUserCards_AtomicUpdateTargetNotFound_ThrowsNotFoundException() {
+        transferProperties.setLockingMode(TransferProperties.LockingMode.ATOMIC_UPDATE);
+        when(cardRepository.debitActiveCard(1L, user.getId(), request.getAmount())).thenReturn(1);
+        when(cardRepository.creditActiveCard(2L, user.getId(), request.getAmount())).thenReturn(0);
+        when(cardRepository.findBalanceByIdAndUserId(2L, user.getId())).thenReturn(Optional.empty());
+
+        NotFoundException exception = assertThrows(NotFoundException.class,
+                () -> transferService.transferBetweenUserCards(request, user.getId(), null));
+        assertEquals("Target card not found: 2", exception.getMessage());
+    }
+
+    @Test
+    void transferBetweenUserCards_SameIdempotencyKeyTwice_ExecutesOnce() {
+        when(cardRepository.findByIdAndUserIdForUpdate(1L, user.getId())).thenReturn(Optional.of(sourceCard));
+        when(cardRepository.findByIdAndUserIdForUpdate(2L, user.getId())).thenReturn(Optional.of(targetCard));
+
+        TransferResponse first = transferService.transferBetweenUserCards(request, user.getId(), "key-1");
+        TransferResponse second = transferService.transferBetweenUserCards(request, user.getId(), "key-1");
+
+        assertSame(first, second);
+        assertEquals(new BigDecimal("800.00"), sourceCard.getBalance());
+        verify(transferRepository).save(argThat(transfer -> "key-1".equals(transfer.getIdempotencyKey())
+                && user.getId().equals(transfer.getUserId())));
+    }
+
+    @Test
+    void transferBetweenUserCards_KeyInLedgerForOtherSourceCard_ThrowsValidationException() {
+        Transfer ledgerEntry = new Transfer(55L, 3L, 2L, new BigDecimal("200.00"), 1L, "key-1", LocalDateTime.now());
+        when(transferRepository.findByUserIdAndIdempotencyKey(user.getId(), "key-1")).thenReturn(Optional.of(ledgerEntry));
+
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> transferService.transferBetweenUserCards(request, user.getId(), "key-1"));
+        assertEquals("Idempotency key key-1 was already used for a different transfer", exception.getMessage());
+        verify(transactionTemplate, never()).execute(any());
+    }
+
+    @Test
+    void transferBetweenUserCards_KeyFoundInLedger_ReturnsOriginalResponse() {
+        Transfer ledgerEntry = new Transfer(55L, 1L, 2L, new BigDecimal("200.00"), 1L, "key-1", LocalDateTime.now());
+        when(transferRepository.findByUserIdAndIdempotencyKey(user.getId(), "key-1")).thenReturn(Optional.of(ledgerEntry));
+
+        TransferResponse response = transferService.transferBetweenUserCards(request, user.getId(), "key-1");
+
+        assertEquals(55L, response.getId());
+        verify(transactionTemplate, never()).execute(any());
+    }
+
+    @Test
+    void transferBetweenUserCards_KeyReusedForDifferentTransfer_ThrowsValidationException() {
+        Transfer ledgerEntry = new Transfer(55L, 1L, 2L, new BigDecimal("50.00"), 1L, "key-1", LocalDateTime.now());
+        when(transferRepository.findByUserIdAndIdempotencyKey(user.getId(), "key-1")).thenReturn(Optional.of(ledgerEntry));
+
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> transferService.transferBetweenUserCards(request, user.getId(), "key-1"));
+        assertEquals("Idempotency key key-1 was already used for a different transfer", exception.getMessage());
+        verify(transactionTemplate, never()).execute(any());
+    }
+
+    @Test
+    void transferBatch_AppliesValidItemsAndReportsRejectedOnes() {
+        when(cardRepository.findAllByIdInAndUserIdForUpdate(argThat(ids -> ids.containsAll(List.of(1L, 2L, 3L))),
+                any())).thenReturn(List.of(sourceCard, targetCard));
+        List<TransferRequest> requests = List.of(
+                new TransferRequest(1L, 2L, new BigDecimal("300.00")),
+                new TransferRequest(2L, 1L, new BigDecimal("900.00")),
+                new TransferRequest(1L, 3L, new BigDecimal("10.00")),
+                new TransferRequest(1L, 1L, new BigDecimal("10.00")),
+                new TransferRequest(2L, 1L, new BigDecimal("800.00")));
+
+        BatchTransferResponse response = transferService.transferBatch(requests, user.getId());
+
+        assertEquals(2, response.getSucceeded());
+        assertEquals(3, response.getFailed());
+        List<BatchTransferItemResult> results = response.getResults();
+        assertTrue(results.get(0).isSuccess());
+        assertEquals(100L, results.get(0).getTransfer().getId());
+        assertEquals("Insufficient funds. Available: 800.00, Required: 900.00", results.get(1).getError());
+        assertEquals("Target card not found: 3", results.get(2).getError());
+        assertEquals("Source and target cards must be different", results.get(3).getError());
+        assertTrue(results.get(4).isSuccess());
+        assertEquals(new BigDecimal("1500.00"), sourceCard.getBalance());
+        assertEquals(new BigDecimal("0.00"), targetCard.getBalance());
+        verify(transactionTemplate, times(1)).execute(any());
+        verify(transferRepository, times(2)).save(any(Transfer.class));
+    }
+
+    @Test
+    void transferBatch_TooManyItems_ThrowsValidationException() {
+        transferProperties.getBatch().setMaxSize(1);
+
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> transferService.transferBatch(List.of(request, request), user.getId()));
+        assertEquals("Batch must contain at most 1 transfers", exception.getMessage());
+        verify(cardRepository, never()).findAllByIdInAndUserIdForUpdate(any(), any());
+    }
+
+    private CardBalanceView balanceView(CardStatus status, BigDecimal balance) {
+        return new CardBalanceView() {
+            @Override
+            public CardStatus getStatus() {
+                return status;
+            }
+
+            @Override
+            public BigDecimal getBalance() {
+                return balance;
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object executeInTransaction(InvocationOnMock invocation) {
+        return invocation.getArgument(0, TransactionCallback.class).doInTransaction(null);
+    }
+}
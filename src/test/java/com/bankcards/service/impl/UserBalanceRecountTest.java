@@ -0,0 +1,90 @@
+package com.bankcards.service.impl;
+
+import com.bankcards.entity.Card;
+import com.bankcards.entity.Role;
+import com.bankcards.entity.User;
+import com.bankcards.repository.CardRepository;
+import com.bankcards.repository.UserBalanceRepository;
+import com.bankcards.repository.UserRepository;
+import com.bankcards.service.AdminService;
+import com.bankcards.util.CardGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@WithMockUser(roles = "ADMIN")
+class UserBalanceRecountTest {
+    @Autowired
+    private UserBalanceStore userBalanceStore;
+
+    @Autowired
+    private UserBalanceRepository userBalanceRepository;
+
+    @Autowired
+    private AdminService adminService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired
+    private CardGenerator cardGenerator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setFirstName("Balance");
+        user.setLastName("Owner");
+        user.setEmail(UUID.randomUUID() + "@test.test");
+        user.setPassword("password");
+        user.setRoles(Set.of(Role.ROLE_USER));
+        user = userRepository.save(user);
+        userBalanceStore.open(user.getId());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM cards WHERE user_id = ?", user.getId());
+        userRepository.findById(user.getId()).ifPresent(userRepository::delete);
+    }
+
+    @Test
+    void deleteUser_RemovesSummaryRow() {
+        userRepository.deleteById(user.getId());
+
+        assertEquals(Optional.empty(), userBalanceRepository.findTotalBalanceByUserId(user.getId()));
+    }
+
+    @Test
+    void recountBalance_DriftedTotal_RecountsAndRefreshesCache() {
+        Card card = cardRepository.save(cardGenerator.generateCard(user));
+        jdbcTemplate.update("UPDATE cards SET balance = 75.00 WHERE id = ?", card.getId());
+        assertEquals(0, BigDecimal.ZERO.compareTo(userBalanceStore.getTotalBalance(user.getId())));
+
+        BigDecimal recounted = adminService.recountBalance(user.getId());
+
+        assertEquals(0, new BigDecimal("75.00").compareTo(recounted));
+        assertEquals(0, new BigDecimal("75.00").compareTo(userBalanceStore.getTotalBalance(user.getId())));
+    }
+}
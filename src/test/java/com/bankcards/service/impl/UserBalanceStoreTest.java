@@ -0,0 +1,165 @@
+package com.bankcards.service.impl;
+
+import com.bankcards.config.CardProperties;
+import com.bankcards.entity.UserBalance;
+import com.bankcards.repository.CardRepository;
+import com.bankcards.repository.UserBalanceRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserBalanceStoreTest {
+    @Mock
+    private UserBalanceRepository userBalanceRepository;
+
+    @Mock
+    private CardRepository cardRepository;
+
+    private UserBalanceStore userBalanceStore;
+
+    @BeforeEach
+    void setUp() {
+        userBalanceStore = new UserBalanceStore(userBalanceRepository, cardRepository, new CardProperties());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void getTotalBalance_CachesSummaryRow() {
+        when(userBalanceRepository.findTotalBalanceByUserId(1L)).thenReturn(Optional.of(new BigDecimal("300.00")));
+
+        assertEquals(new BigDecimal("300.00"), userBalanceStore.getTotalBalance(1L));
+        assertEquals(new BigDecimal("300.00"), userBalanceStore.getTotalBalance(1L));
+
+        verify(userBalanceRepository, times(1)).findTotalBalanceByUserId(1L);
+        verify(cardRepository, never()).sumBalanceByUserId(any());
+    }
+
+    @Test
+    void getTotalBalance_NoSummaryRow_SumsCards() {
+        when(userBalanceRepository.findTotalBalanceByUserId(2L)).thenReturn(Optional.empty());
+        when(cardRepository.sumBalanceByUserId(2L)).thenReturn(Optional.empty());
+
+        assertEquals(BigDecimal.ZERO, userBalanceStore.getTotalBalance(2L));
+    }
+
+    @Test
+    void adjust_ZeroDelta_SkipsUpdate() {
+        userBalanceStore.adjust(1L, BigDecimal.ZERO);
+
+        verify(userBalanceRepository, never()).addToTotalBalance(any(), any());
+    }
+
+    @Test
+    void adjust_InsideTransaction_EvictsCachedTotalAfterCompletion() {
+        when(userBalanceRepository.findTotalBalanceByUserId(1L))
+                .thenReturn(Optional.of(new BigDecimal("100.00")))
+                .thenReturn(Optional.of(new BigDecimal("150.00")));
+        userBalanceStore.getTotalBalance(1L);
+        TransactionSynchronizationManager.initSynchronization();
+
+        userBalanceStore.adjust(1L, new BigDecimal("50.00"));
+        userBalanceStore.getTotalBalance(1L);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        verify(userBalanceRepository).addToTotalBalance(1L, new BigDecimal("50.00"));
+        assertEquals(new BigDecimal("150.00"), userBalanceStore.getTotalBalance(1L));
+    }
+
+    @Test
+    void getTotalBalance_SlowLoadOnVirtualThread_DoesNotPinCarrier() throws Exception {
+        when(userBalanceRepository.findTotalBalanceByUserId(4L)).thenAnswer(invocation -> {
+            Thread.sleep(50);
+            return Optional.of(new BigDecimal("10.00"));
+        });
+        List<RecordedEvent> pinned = new CopyOnWriteArrayList<>();
+
+        try (RecordingStream recording = new RecordingStream()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            recording.onEvent("jdk.VirtualThreadPinned", pinned::add);
+            recording.startAsync();
+
+            Thread.ofVirtual().start(() -> userBalanceStore.getTotalBalance(4L)).join();
+            recording.stop();
+        }
+
+        assertEquals(List.of(), pinned);
+    }
+
+    @Test
+    void open_SavesZeroTotal() {
+        userBalanceStore.open(3L);
+
+        verify(userBalanceRepository).save(new UserBalance(3L, BigDecimal.ZERO));
+    }
+
+    @Test
+    void recount_DriftedTotal_UpdatesRowAndEvictsAfterCompletion() {
+        UserBalance stored = new UserBalance(1L, new BigDecimal("100.00"));
+        when(userBalanceRepository.findTotalBalanceByUserId(1L))
+                .thenReturn(Optional.of(new BigDecimal("100.00")))
+                .thenReturn(Optional.of(new BigDecimal("120.00")));
+        when(userBalanceRepository.findByUserIdForUpdate(1L)).thenReturn(Optional.of(stored));
+        when(cardRepository.sumBalanceByUserId(1L)).thenReturn(Optional.of(new BigDecimal("120.00")));
+        userBalanceStore.getTotalBalance(1L);
+        TransactionSynchronizationManager.initSynchronization();
+
+        assertEquals(new BigDecimal("120.00"), userBalanceStore.recount(1L));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        assertEquals(new BigDecimal("120.00"), stored.getTotalBalance());
+        assertEquals(new BigDecimal("120.00"), userBalanceStore.getTotalBalance(1L));
+    }
+
+    @Test
+    void recount_MatchingTotal_KeepsCachedTotal() {
+        when(userBalanceRepository.findTotalBalanceByUserId(1L)).thenReturn(Optional.of(new BigDecimal("100.00")));
+        when(userBalanceRepository.findByUserIdForUpdate(1L))
+                .thenReturn(Optional.of(new UserBalance(1L, new BigDecimal("100.00"))));
+        when(cardRepository.sumBalanceByUserId(1L)).thenReturn(Optional.of(new BigDecimal("100.00")));
+        userBalanceStore.getTotalBalance(1L);
+
+        userBalanceStore.recount(1L);
+
+        assertEquals(new BigDecimal("100.00"), userBalanceStore.getTotalBalance(1L));
+        verify(userBalanceRepository, times(1)).findTotalBalanceByUserId(1L);
+    }
+
+    @Test
+    void recount_NoSummaryRow_ReturnsCardSumWithoutCreatingRow() {
+        when(userBalanceRepository.findByUserIdForUpdate(2L)).thenReturn(Optional.empty());
+        when(cardRepository.sumBalanceByUserId(2L)).thenReturn(Optional.of(new BigDecimal("30.00")));
+
+        assertEquals(new BigDecimal("30.00"), userBalanceStore.recount(2L));
+        verify(userBalanceRepository, never()).save(any());
+    }
+}
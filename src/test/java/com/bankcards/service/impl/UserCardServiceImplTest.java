@@ -2,6 +2,8 @@ package com.bankcards.service.impl;
 
 import static org.junit.jupiter.api.Assertions.*;
 import com.bankcards.dto.CardDto;
+import com.bankcards.dto.CardFilter;
+import com.bankcards.dto.CursorPageDto;
 import com.bankcards.entity.BlockCardRequest;
 import com.bankcards.entity.Card;
 import com.bankcards.entity.CardStatus;
@@ -10,7 +12,9 @@ import com.bankcards.exception.NotFoundException;
 import com.bankcards.exception.ValidationException;
 import com.bankcards.mapper.CardMapper;
 import com.bankcards.repository.BlockedCardRequestRepository;
+import com.bankcards.repository.CardListView;
 import com.bankcards.repository.CardRepository;
+import com.bankcards.util.CardCursor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -18,6 +22,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.*;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -40,13 +45,17 @@ class UserCardServiceImplTest {
     @Mock
     private BlockedCardRequestRepository blockedCardRequestRepository;
 
+    @Mock
+    private UserBalanceStore userBalanceStore;
+
     @InjectMocks
     private UserCardServiceImpl userCardService;
 
     private User user;
     private Card card;
     private CardDto cardDto;
-    private Page<Card> cardPage;
+    private CardListView cardView;
+    private Page<CardListView> cardPage;
 
     @BeforeEach
     void setUp() {
@@ -71,74 +80,117 @@ class UserCardServiceImplTest {
                 BigDecimal.ZERO, LocalDateTime.now()
         );
 
-        cardPage = new PageImpl<>(List.of(card));
+        cardView = new CardListView(1L, "1111", "John", "Doe", card.getExpiryDate(), CardStatus.ACTIVE,
+                BigDecimal.ZERO, card.getCreatedAt());
+        cardPage = new PageImpl<>(List.of(cardView));
     }
 
     @Test
     void getUserCards_WithoutFilters_ReturnsPagedCards() {
         int page = 0;
         int size = 10;
-        when(cardRepository.findByUserWithFilters(eq(user.getEmail()), isNull(), any(Pageable.class)))
-                .thenReturn(cardPage);
-        when(cardMapper.mapCardToCardDto(card)).thenReturn(cardDto);
+        when(cardRepository.findListing(anySpecification(), any(Pageable.class))).thenReturn(cardPage);
+        when(cardMapper.mapCardListViewToCardDto(cardView)).thenReturn(cardDto);
 
-        Page<CardDto> result = userCardService.getUserCardsByEmail(user.getEmail(), page, size, null, null);
+        Page<CardDto> result = userCardService.getUserCards(user.getId(), page, size, new CardFilter());
 
         assertEquals(1, result.getContent().size());
-        verify(cardRepository).findByUserWithFilters(eq(user.getEmail()), isNull(),
-                argThat(pageable -> pageable.getSort().iterator().next().getProperty().equals("createdAt")));
+        verify(cardRepository).findListing(anySpecification(),
+                argThat((Pageable pageable) -> pageable.getSort().iterator().next().getProperty().equals("createdAt")));
+    }
+
+    @Test
+    void getUserCardsByCursor_SeeksFromDecodedCursor() {
+        CardCursor cursor = new CardCursor(LocalDateTime.of(2025, 1, 2, 3, 4, 5), 42L);
+        CursorPageDto<CardDto> cursorPage = new CursorPageDto<>(List.of(cardDto), null, false);
+        when(cardRepository.findListingBefore(anySpecification(), eq(cursor), eq(Limit.of(11))))
+                .thenReturn(List.of(cardView));
+        when(cardMapper.mapCardsToCursorPage(List.of(cardView), 10)).thenReturn(cursorPage);
+
+        CursorPageDto<CardDto> result = userCardService.getUserCardsByCursor(
+                user.getId(), cursor.encode(), 10, new CardFilter());
+
+        assertEquals(cursorPage, result);
+    }
+
+    @Test
+    void getUserCardsByCursor_InvalidCursor_ThrowsValidationException() {
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> userCardService.getUserCardsByCursor(user.getId(), "not-a-cursor", 10, null));
+        assertEquals("Invalid cursor", exception.getMessage());
+        verify(cardRepository, never()).findListingBefore(any(), any(), any());
+    }
+
+    @Test
+    void getUserCardsByCursor_SizeOutOfRange_ThrowsValidationException() {
+        assertThrows(ValidationException.class,
+                () -> userCardService.getUserCardsByCursor(user.getId(), null, 0, null));
+        assertThrows(ValidationException.class,
+                () -> userCardService.getUserCardsByCursor(user.getId(), null, -1, null));
+        assertThrows(ValidationException.class,
+                () -> userCardService.getUserCardsByCursor(user.getId(), null, Integer.MAX_VALUE, null));
+        verify(cardRepository, never()).findListingBefore(any(), any(), any());
     }
 
     @Test
     void getUserCards_WithStatusFilter_ReturnsFilteredCards() {
         int page = 0;
         int size = 5;
-        CardStatus status = CardStatus.ACTIVE;
-        when(cardRepository.findByUserWithFilters(eq(user.getEmail()), eq(status), any(Pageable.class)))
-                .thenReturn(cardPage);
-        when(cardMapper.mapCardToCardDto(card)).thenReturn(cardDto);
+        CardFilter filter = new CardFilter("1234", CardStatus.ACTIVE, null, null, null, null, null, null);
+        when(cardRepository.findListing(anySpecification(), any(Pageable.class))).thenReturn(cardPage);
+        when(cardMapper.mapCardListViewToCardDto(cardView)).thenReturn(cardDto);
 
-        Page<CardDto> result = userCardService.getUserCardsByEmail(user.getEmail(), page, size, null, status);
+        Page<CardDto> result = userCardService.getUserCards(user.getId(), page, size, filter);
 
         assertEquals(1, result.getContent().size());
-        verify(cardRepository).findByUserWithFilters(eq(user.getEmail()), eq(status), any(Pageable.class));
+        verify(cardRepository).findListing(anySpecification(), any(Pageable.class));
+    }
+
+    @Test
+    void getUserCards_SearchByFullNumber_ThrowsValidationException() {
+        CardFilter filter = new CardFilter("4111111111111111", null, null, null, null, null, null, null);
+
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> userCardService.getUserCards(user.getId(), 0, 10, filter));
+        assertEquals("Card number search supports the last four digits only", exception.getMessage());
+        verify(cardRepository, never()).findListing(anySpecification(), any(Pageable.class));
     }
 
     @Test
     void getCardForUser_Success_ReturnsCardDto() {
         Long cardId = 1L;
-        when(cardRepository.findByIdAndEmail(cardId, user.getEmail())).thenReturn(Optional.of(card));
+        when(cardRepository.findByIdAndUserId(cardId, user.getId())).thenReturn(Optional.of(card));
         when(cardMapper.mapCardToCardDto(card)).thenReturn(cardDto);
 
-        CardDto result = userCardService.getCardForUserByEmail(cardId, user.getEmail());
+        CardDto result = userCardService.getCardForUser(cardId, user.getId());
 
         assertEquals(cardDto, result);
-        verify(cardRepository).findByIdAndEmail(cardId, user.getEmail());
+        verify(cardRepository).findByIdAndUserId(cardId, user.getId());
         verify(cardMapper).mapCardToCardDto(card);
     }
 
     @Test
     void getCardForUser_CardNotFound_ThrowsNotFoundException() {
         Long cardId = 999L;
-        when(cardRepository.findByIdAndEmail(cardId, user.getEmail())).thenReturn(Optional.empty());
+        when(cardRepository.findByIdAndUserId(cardId, user.getId())).thenReturn(Optional.empty());
 
         NotFoundException exception = assertThrows(NotFoundException.class,
-                () -> userCardService.getCardForUserByEmail(cardId, user.getEmail()));
+                () -> userCardService.getCardForUser(cardId, user.getId()));
         assertEquals("CardId: 999 not found", exception.getMessage());
-        verify(cardRepository).findByIdAndEmail(cardId, user.getEmail());
+        verify(cardRepository).findByIdAndUserId(cardId, user.getId());
         verify(cardMapper, never()).mapCardToCardDto(any());
     }
 
     @Test
     void requestCardBlock_ActiveZeroBalance_Success() {
         Long cardId = 1L;
-        when(cardRepository.findByIdAndEmail(cardId, user.getEmail())).thenReturn(Optional.of(card));
+        when(cardRepository.findByIdAndUserId(cardId, user.getId())).thenReturn(Optional.of(card));
         when(blockedCardRequestRepository.save(any(BlockCardRequest.class)))
                 .thenReturn(new BlockCardRequest());
 
-        userCardService.requestCardBlockByEmail(cardId, user.getEmail());
+        userCardService.requestCardBlock(cardId, user.getId());
 
-        verify(cardRepository).findByIdAndEmail(cardId, user.getEmail());
+        verify(cardRepository).findByIdAndUserId(cardId, user.getId());
         verify(blockedCardRequestRepository).save(argThat(request ->
                 request.getCard().getId().equals(cardId)));
     }
@@ -146,12 +198,12 @@ class UserCardServiceImplTest {
     @Test
     void requestCardBlock_CardNotFound_ThrowsNotFoundException() {
         Long cardId = 999L;
-        when(cardRepository.findByIdAndEmail(cardId, user.getEmail())).thenReturn(Optional.empty());
+        when(cardRepository.findByIdAndUserId(cardId, user.getId())).thenReturn(Optional.empty());
 
         NotFoundException exception = assertThrows(NotFoundException.class,
-                () -> userCardService.requestCardBlockByEmail(cardId, user.getEmail()));
+                () -> userCardService.requestCardBlock(cardId, user.getId()));
         assertEquals("CardId: 999 not found", exception.getMessage());
-        verify(cardRepository).findByIdAndEmail(cardId, user.getEmail());
+        verify(cardRepository).findByIdAndUserId(cardId, user.getId());
         verify(blockedCardRequestRepository, never()).save(any());
     }
 
@@ -159,10 +211,10 @@ class UserCardServiceImplTest {
     void requestCardBlock_NonActiveCard_ThrowsValidationException() {
         Long cardId = 1L;
         card.setStatus(CardStatus.BLOCKED);
-        when(cardRepository.findByIdAndEmail(cardId, user.getEmail())).thenReturn(Optional.of(card));
+        when(cardRepository.findByIdAndUserId(cardId, user.getId())).thenReturn(Optional.of(card));
 
         ValidationException exception = assertThrows(ValidationException.class,
-                () -> userCardService.requestCardBlockByEmail(cardId, user.getEmail()));
+                () -> userCardService.requestCardBlock(cardId, user.getId()));
         assertEquals("Only active cards can be blocked", exception.getMessage());
         verify(blockedCardRequestRepository, never()).save(any());
     }
@@ -171,21 +223,28 @@ class UserCardServiceImplTest {
     void requestCardBlock_NonZeroBalance_ThrowsValidationException() {
         Long cardId = 1L;
         card.setBalance(new BigDecimal("100.00"));
-        when(cardRepository.findByIdAndEmail(cardId, user.getEmail())).thenReturn(Optional.of(card));
+        when(cardRepository.findByIdAndUserId(cardId, user.getId())).thenReturn(Optional.of(card));
 
         ValidationException exception = assertThrows(ValidationException.class,
-                () -> userCardService.requestCardBlockByEmail(cardId, user.getEmail()));
+                () -> userCardService.requestCardBlock(cardId, user.getId()));
         assertEquals("Cannot block card with non-zero balance", exception.getMessage());
         verify(blockedCardRequestRepository, never()).save(any());
     }
 
+    @Test
+    void getBalanceForUser_ReadsBalanceStore() {
+        when(userBalanceStore.getTotalBalance(1L)).thenReturn(new BigDecimal("250.00"));
+
+        assertEquals(new BigDecimal("250.00"), userCardService.getBalanceForUser(1L));
+        verify(cardRepository, never()).sumBalanceByUserId(any());
+    }
+
     @Test
     void getUserCards_EmptyPage_ReturnsEmptyPage() {
-        Page<Card> emptyPage = new PageImpl<>(List.of());
-        when(cardRepository.findByUserWithFilters(eq(user.getEmail()), isNull(), any(Pageable.class)))
-                .thenReturn(emptyPage);
+        Page<CardListView> emptyPage = new PageImpl<>(List.of());
+        when(cardRepository.findListing(anySpecification(), any(Pageable.class))).thenReturn(emptyPage);
 
-        Page<CardDto> result = userCardService.getUserCardsByEmail(user.getEmail(), 0, 10, null, null);
+        Page<CardDto> result = userCardService.getUserCards(user.getId(), 0, 10, null);
 
         assertTrue(result.isEmpty());
     }
@@ -195,10 +254,15 @@ class UserCardServiceImplTest {
         Long cardId = 1L;
         User wrongUser = new User();
         wrongUser.setId(2L);
-        when(cardRepository.findByIdAndEmail(cardId, wrongUser.getEmail())).thenReturn(Optional.empty());
+        when(cardRepository.findByIdAndUserId(cardId, wrongUser.getId())).thenReturn(Optional.empty());
 
         NotFoundException exception = assertThrows(NotFoundException.class,
-                () -> userCardService.getCardForUserByEmail(cardId, wrongUser.getEmail()));
+                () -> userCardService.getCardForUser(cardId, wrongUser.getId()));
         assertEquals("CardId: 1 not found", exception.getMessage());
     }
-}
\ No newline at end of file
+
+    @SuppressWarnings("unchecked")
+    private static Specification<Card> anySpecification() {
+        return any(Specification.class);
+    }
+}
@@ -26,6 +26,7 @@ import java.util.Set;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -83,14 +84,14 @@ class UserServiceImplTest {
     void singIn_ValidCredentials_ReturnsJwtDto() throws BadCredentialsException {
         when(userRepository.findByEmail(credentialsDto.getEmail())).thenReturn(Optional.of(user));
         when(passwordEncoder.matches(credentialsDto.getPassword(), user.getPassword())).thenReturn(true);
-        when(jwtService.generateAuthToken(eq(user.getEmail()), anyCollection())).thenReturn(jwtDto);
+        when(jwtService.generateAuthToken(eq(user.getId()), eq(user.getEmail()), eq(0L), anyCollection())).thenReturn(jwtDto);
 
         JwtAuthenticationDto result = userService.singIn(credentialsDto);
 
         assertEquals(jwtDto, result);
         verify(userRepository).findByEmail(credentialsDto.getEmail());
         verify(passwordEncoder).matches("password123", user.getPassword());
-        verify(jwtService).generateAuthToken(eq("john@example.com"), anyCollection());
+        verify(jwtService).generateAuthToken(eq(1L), eq("john@example.com"), eq(0L), anyCollection());
     }
 
     @Test
@@ -102,7 +103,7 @@ class UserServiceImplTest {
         assertEquals("Email or Password is not correct", exception.getMessage());
         verify(userRepository).findByEmail(credentialsDto.getEmail());
         verify(passwordEncoder, never()).matches(any(), any());
-        verify(jwtService, never()).generateAuthToken(any(), any());
+        verify(jwtService, never()).generateAuthToken(any(), any(), anyLong(), any());
     }
 
     @Test
@@ -115,7 +116,7 @@ class UserServiceImplTest {
         assertEquals("Email or Password is not correct", exception.getMessage());
         verify(userRepository).findByEmail(credentialsDto.getEmail());
         verify(passwordEncoder).matches("password123", user.getPassword());
-        verify(jwtService, never()).generateAuthToken(any(), any());
+        verify(jwtService, never()).generateAuthToken(any(), any(), anyLong(), any());
     }
 
     @Test
@@ -123,7 +124,7 @@ class UserServiceImplTest {
         when(jwtService.validateJwtToken(refreshTokenDto.getRefreshToken())).thenReturn(true);
         when(jwtService.getEmailFromToken(refreshTokenDto.getRefreshToken())).thenReturn("john@example.com");
         when(userDetailsService.loadUserByUsername("john@example.com")).thenReturn(userDetails);
-        when(jwtService.refreshBaseToken(eq("john@example.com"), eq("valid-refresh-token"), anyCollection()))
+        when(jwtService.refreshBaseToken(eq(1L), eq("john@example.com"), eq(0L), eq("valid-refresh-token"), anyCollection()))
                 .thenReturn(jwtDto);
 
         JwtAuthenticationDto result = userService.refreshToken(refreshTokenDto);
@@ -132,7 +133,7 @@ class UserServiceImplTest {
         verify(jwtService).validateJwtToken("valid-refresh-token");
         verify(jwtService).getEmailFromToken("valid-refresh-token");
         verify(userDetailsService).loadUserByUsername("john@example.com");
-        verify(jwtService).refreshBaseToken(eq("john@example.com"), eq("valid-refresh-token"), anyCollection());
+        verify(jwtService).refreshBaseToken(eq(1L), eq("john@example.com"), eq(0L), eq("valid-refresh-token"), anyCollection());
     }
 
     @Test
@@ -160,7 +161,7 @@ class UserServiceImplTest {
     void findByCredentials_Valid_CalledFromSignIn() throws BadCredentialsException {
         when(userRepository.findByEmail(credentialsDto.getEmail())).thenReturn(Optional.of(user));
         when(passwordEncoder.matches(credentialsDto.getPassword(), user.getPassword())).thenReturn(true);
-        when(jwtService.generateAuthToken(eq(user.getEmail()), anyCollection())).thenReturn(jwtDto);
+        when(jwtService.generateAuthToken(eq(user.getId()), eq(user.getEmail()), eq(0L), anyCollection())).thenReturn(jwtDto);
 
         userService.singIn(credentialsDto);
 
@@ -0,0 +1,74 @@
+package com.bankcards.util.cipher;
+
+import com.bankcards.exception.EncryptionException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AesGcmCipherEngineTest {
+    private static final String CARD_NUMBER = "4111111111111111";
+
+    private AesGcmCipherEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new AesGcmCipherEngine("k1", AesGcmCipherEngine.deriveKey("secret", "k1"));
+    }
+
+    @Test
+    void encryptDecrypt_RoundTrip() {
+        String ciphertext = engine.encrypt(CARD_NUMBER);
+
+        assertTrue(ciphertext.startsWith("k1:"));
+        assertTrue(AesGcmCipherEngine.supports(ciphertext));
+        assertEquals("k1", AesGcmCipherEngine.keyIdOf(ciphertext));
+        assertEquals(CARD_NUMBER, engine.decrypt(ciphertext));
+    }
+
+    @Test
+    void encrypt_SamePlaintext_ProducesDifferentCiphertexts() {
+        assertNotEquals(engine.encrypt(CARD_NUMBER), engine.encrypt(CARD_NUMBER));
+    }
+
+    @Test
+    void decrypt_TamperedCiphertext_ThrowsEncryptionException() {
+        byte[] payload = Base64.getDecoder().decode(engine.encrypt(CARD_NUMBER).substring(3));
+        payload[payload.length - 1] ^= 1;
+
+        assertThrows(EncryptionException.class,
+                () -> engine.decrypt("k1:" + Base64.getEncoder().encodeToString(payload)));
+    }
+
+    @Test
+    void decrypt_OtherKeyId_ThrowsEncryptionException() {
+        AesGcmCipherEngine other = new AesGcmCipherEngine("k2", AesGcmCipherEngine.deriveKey("secret", "k2"));
+
+        EncryptionException exception = assertThrows(EncryptionException.class,
+                () -> engine.decrypt(other.encrypt(CARD_NUMBER)));
+        assertEquals("Value was not encrypted with key k1", exception.getMessage());
+    }
+
+    @Test
+    void supports_LegacyHexValue_ReturnsFalse() {
+        assertFalse(AesGcmCipherEngine.supports("a1b2c3d4e5f60718293a4b5c6d7e8f90"));
+    }
+
+    @Test
+    void decrypt_AfterTamperedCiphertextOnVirtualThread_StillDecrypts() throws InterruptedException {
+        byte[] payload = Base64.getDecoder().decode(engine.encrypt(CARD_NUMBER).substring(3));
+        payload[payload.length - 1] ^= 1;
+        String tampered = "k1:" + Base64.getEncoder().encodeToString(payload);
+        String ciphertext = engine.encrypt(CARD_NUMBER);
+        String[] decrypted = new String[1];
+
+        Thread.ofVirtual().start(() -> {
+            assertThrows(EncryptionException.class, () -> engine.decrypt(tampered));
+            decrypted[0] = engine.decrypt(ciphertext);
+        }).join();
+
+        assertEquals(CARD_NUMBER, decrypted[0]);
+    }
+}
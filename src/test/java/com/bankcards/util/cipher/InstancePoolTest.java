@@ -0,0 +1,53 @@
+package com.bankcards.util.cipher;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InstancePoolTest {
+
+    @Test
+    void acquire_AfterRelease_ReusesInstance() {
+        AtomicInteger created = new AtomicInteger();
+        InstancePool<Object> pool = new InstancePool<>(() -> {
+            created.incrementAndGet();
+            return new Object();
+        }, 2);
+
+        Object first = pool.acquire();
+        pool.release(first);
+
+        assertSame(first, pool.acquire());
+        assertEquals(1, created.get());
+    }
+
+    @Test
+    void acquire_OnVirtualThreads_ReusesInstance() throws InterruptedException {
+        AtomicInteger created = new AtomicInteger();
+        InstancePool<Object> pool = new InstancePool<>(() -> {
+            created.incrementAndGet();
+            return new Object();
+        }, 2);
+
+        for (int i = 0; i < 10; i++) {
+            Thread.ofVirtual().start(() -> pool.release(pool.acquire())).join();
+        }
+
+        assertEquals(1, created.get());
+    }
+
+    @Test
+    void release_FullPool_DropsInstance() {
+        InstancePool<Object> pool = new InstancePool<>(Object::new, 1);
+        Object first = pool.acquire();
+        Object second = pool.acquire();
+
+        pool.release(first);
+        pool.release(second);
+
+        assertEquals(1, pool.idleCount());
+        assertSame(first, pool.acquire());
+    }
+}